@@ -1,47 +1,208 @@
 package katana;
 
+import katana.interpreter.ExecutionMode;
 import katana.interpreter.Interpreter;
+import katana.interpreter.Output;
 import katana.interpreter.RuntimeError;
+import katana.interpreter.StreamOutput;
 import katana.model.stmt.Statement;
 import katana.model.token.Token;
 import katana.model.token.TokenType;
+import katana.optimizer.ConstantFolding;
+import katana.optimizer.DeadCodeElimination;
+import katana.optimizer.Inliner;
+import katana.optimizer.PassManager;
+import katana.optimizer.TypeInference;
 import katana.parser.Parser;
 import katana.resolver.Resolver;
 import katana.scanner.Scanner;
+import katana.vm.VirtualMachine;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
 public class Katana {
 
+    private static final String USAGE = "Usage: katana [--engine=tree|node|tiered|vm] [-O0|-O1|-O2] [--time-passes] [--dump-types] [--no-inline] [--inline-budget=N] [script]\n       katana compile [script] -o [image]";
+
     private static boolean hadError = false;
     private static boolean hadRuntimeError = false;
 
-    private static final Interpreter interpreter = new Interpreter();
+    private static Interpreter interpreter = new Interpreter();
+    private static VirtualMachine vm;
+    private static Engine engine = Engine.TREE;
+    private static int optimizationLevel = 2;
+    private static int inlineBudget = Inliner.DEFAULT_BUDGET;
+    private static boolean timePasses = false;
+    private static boolean dumpTypes = false;
+    private static TypeInference typeInference;
+    private static boolean wholeProgram = false;
+    private static Output output = new StreamOutput(System.out, StreamOutput.Flush.EVERY_LINE);
+
+    private enum Engine {
+        TREE, NODE, TIERED, VM
+    }
 
     public static void main(String[] args) throws IOException {
-        if (args.length > 1) {
-            System.out.println("Usage: katana [script]");
-            System.exit(64);
-        } else if (args.length == 1) {
-            runFile(args[0]);
+        if (args.length > 0 && args[0].equals("compile")) {
+            compile(args);
+            return;
+        }
+
+        String script = null;
+        for (String arg : args) {
+            if (arg.startsWith("--engine=")) {
+                engine = parseEngine(arg.substring("--engine=".length()));
+            } else if (arg.equals("-O0") || arg.equals("-O1") || arg.equals("-O2")) {
+                optimizationLevel = arg.charAt(2) - '0';
+            } else if (arg.equals("--time-passes")) {
+                timePasses = true;
+            } else if (arg.equals("--dump-types")) {
+                dumpTypes = true;
+            } else if (arg.equals("--no-inline")) {
+                inlineBudget = 0;
+            } else if (arg.startsWith("--inline-budget=")) {
+                inlineBudget = parseBudget(arg.substring("--inline-budget=".length()));
+            } else if (script == null) {
+                script = arg;
+            } else {
+                usage();
+            }
+        }
+
+        if (script != null) {
+            runFile(script);
         } else {
             runPrompt();
         }
     }
 
+    private static Engine parseEngine(String name) {
+        switch (name) {
+            case "tree" -> {
+                return Engine.TREE;
+            }
+            case "node" -> {
+                return Engine.NODE;
+            }
+            case "tiered" -> {
+                return Engine.TIERED;
+            }
+            case "vm" -> {
+                return Engine.VM;
+            }
+            default -> {
+                usage();
+                return null;
+            }
+        }
+    }
+
+    private static int parseBudget(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            usage();
+            return 0;
+        }
+    }
+
+    private static void usage() {
+        System.out.println(USAGE);
+        System.exit(64);
+    }
+
+    private static void compile(String[] args) throws IOException {
+        if (args.length != 4 || !args[2].equals("-o")) {
+            usage();
+        }
+
+        List<Statement> statements;
+        try (FileChannel channel = FileChannel.open(Paths.get(args[1]))) {
+            statements = parseStatement(new Scanner(channel, 0, channel.size()).scanTokens());
+        }
+        wholeProgram = true;
+        PassManager passes = passes(false);
+        if (!hadError) {
+            statements = passes.runBeforeResolution(statements);
+            resolveStatement(statements);
+        }
+        if (!hadError) {
+            statements = passes.runAfterResolution(statements);
+            report(passes);
+        }
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        if (!hadError) {
+            new VirtualMachine().compile(statements, image);
+        }
+        if (hadError) System.exit(65);
+
+        Files.write(Paths.get(args[3]), image.toByteArray());
+    }
+
     private static void runFile(String path) throws IOException {
-        byte[] bytes = Files.readAllBytes(Paths.get(path));
-        run(new String(bytes, Charset.defaultCharset()));
+        wholeProgram = true;
+        output = new StreamOutput(System.out, StreamOutput.Flush.WHEN_FULL);
+        interpreter.setOutput(output);
+        Path file = Paths.get(path);
+        if (Files.isRegularFile(file)) {
+            try (FileChannel channel = FileChannel.open(file)) {
+                byte[] magic = new byte[4];
+                channel.read(ByteBuffer.wrap(magic), 0);
+                if (VirtualMachine.isImage(magic)) {
+                    runImage(new BufferedInputStream(Channels.newInputStream(channel)));
+                    return;
+                }
+                run(new Scanner(channel, 0, channel.size()));
+            }
+        } else {
+            try (InputStream input = new BufferedInputStream(new FileInputStream(file.toFile()))) {
+                input.mark(4);
+                byte[] magic = input.readNBytes(4);
+                input.reset();
+                if (VirtualMachine.isImage(magic)) {
+                    runImage(input);
+                    return;
+                }
+                run(new Scanner(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            }
+        }
         if (hadError) System.exit(65);
         if (hadRuntimeError) System.exit(70);
     }
 
+    private static void runImage(InputStream input) throws IOException {
+        VirtualMachine image = new VirtualMachine();
+        image.setOutput(output);
+        image.interpret(input);
+        if (hadRuntimeError) System.exit(70);
+    }
+
+    static void reset(String engineName, int level, Output sink) {
+        engine = parseEngine(engineName);
+        optimizationLevel = level;
+        wholeProgram = true;
+        output = sink;
+        interpreter = new Interpreter();
+        interpreter.setOutput(sink);
+        vm = null;
+        hadError = false;
+        hadRuntimeError = false;
+    }
+
     private static void runPrompt() throws IOException {
         InputStreamReader input = new InputStreamReader(System.in);
         BufferedReader reader = new BufferedReader(input);
@@ -57,23 +218,30 @@ public class Katana {
     }
 
     public static void run(String source) {
+        run(new Scanner(source));
+    }
 
-        List<Token> tokens = scanTokens(source);
+    private static void run(Scanner scanner) {
+
+        List<Token> tokens = scanner.scanTokens();
 
         List<Statement> statements = parseStatement(tokens);
 
         if (hadError) return;
 
+        PassManager passes = passes(true);
+
+        statements = passes.runBeforeResolution(statements);
+
         resolveStatement(statements);
 
         if (hadError) return;
 
-        interpret(statements);
-    }
+        statements = passes.runAfterResolution(statements);
+
+        report(passes);
 
-    private static List<Token> scanTokens(String source) {
-        Scanner scanner = new Scanner(source);
-        return scanner.scanTokens();
+        interpret(statements);
     }
 
     private static List<Statement> parseStatement(List<Token> tokens) {
@@ -81,13 +249,59 @@ public class Katana {
         return parser.parse();
     }
 
+    private static PassManager passes(boolean interpreted) {
+        PassManager passes = new PassManager();
+        typeInference = null;
+        if (optimizationLevel >= 1) {
+            typeInference = new TypeInference(wholeProgram);
+            passes.add(new ConstantFolding());
+            passes.add(new DeadCodeElimination(wholeProgram));
+            passes.add(typeInference);
+        }
+        if (optimizationLevel >= 2 && inlineBudget > 0 && interpreted && engine != Engine.VM) {
+            passes.add(new Inliner(interpreter, inlineBudget));
+        }
+        return passes;
+    }
+
+    private static void report(PassManager passes) {
+        if (dumpTypes && typeInference != null) {
+            for (String line : typeInference.describe()) {
+                System.err.println(line);
+            }
+        }
+        if (!timePasses) {
+            return;
+        }
+        for (PassManager.Timing timing : passes.timings()) {
+            System.err.println("[pass " + timing.pass + "] " + timing.nanos / 1000 + " us");
+        }
+    }
+
     private static void resolveStatement(List<Statement> statements) {
         Resolver resolver = new Resolver(interpreter);
         resolver.resolve(statements);
     }
 
     private static void interpret(List<Statement> statements) {
-        interpreter.interpret(statements);
+        if (engine == Engine.VM) {
+            if (vm == null) {
+                vm = new VirtualMachine();
+                vm.setOutput(output);
+            }
+            vm.interpret(statements);
+        } else {
+            interpreter.setExecutionMode(executionMode());
+            interpreter.interpret(statements);
+        }
+    }
+
+    private static ExecutionMode executionMode() {
+        return switch (engine) {
+            case NODE -> ExecutionMode.NODE;
+            case TIERED -> ExecutionMode.TIERED;
+            default -> ExecutionMode.TREE;
+        };
     }
 
     public static void error(int line, int position, String message) {
@@ -104,12 +318,22 @@ public class Katana {
         hadError = true;
     }
 
+    public static void warning(Token token, String message) {
+        System.err.println("[line " + token.line + ", position " + token.position + "] WARNING at '" + token.rawText + "': " + message);
+    }
+
     private static void reportError(int line, int position, String where, String message) {
         System.err.println("[line " + line + ", position " + position + "] ERROR" + where + ": " + message);
     }
 
     public static void runtimeError(RuntimeError error) {
         System.err.println(error.getMessage() + "\n[line " + error.getLine() + ", position " + error.getPosition() + "]");
+        List<String> callStack = error.getCallStack();
+        if (callStack.size() > 1) {
+            for (String frame : callStack) {
+                System.err.println("  in " + frame);
+            }
+        }
         hadRuntimeError = true;
     }
 }
@@ -0,0 +1,32 @@
+package katana.interpreter;
+
+public class CapturedOutput extends Output {
+    private final StringBuilder text = new StringBuilder();
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        text.append(chars, offset, length);
+    }
+
+    @Override
+    public void write(String text) {
+        this.text.append(text);
+    }
+
+    @Override
+    public void endLine() {
+        text.append('\n');
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    public String text() {
+        return text.toString();
+    }
+
+    public void clear() {
+        text.setLength(0);
+    }
+}
@@ -1,58 +1,28 @@
 package katana.interpreter;
 
-import katana.model.token.Token;
-
-import java.util.HashMap;
-import java.util.Map;
-
 public class Environment {
     final Environment enclosing;
-    private final Map<String, Object> values = new HashMap<>();
+    private final Object[] values;
 
-    public Environment(Environment enclosing) {
+    public Environment(Environment enclosing, int size) {
         this.enclosing = enclosing;
+        this.values = new Object[size];
     }
 
-    public Environment() {
-        enclosing = null;
-    }
-
-    public Object get(Token name) {
-        if (values.containsKey(name.rawText)) {
-            return values.get(name.rawText);
-        }
-
-        if (enclosing != null) {
-            return enclosing.get(name);
-        }
-
-        throw new RuntimeError(name, "Undefined variable '" + name.rawText + "'.");
-    }
-
-    public void assign(Token name, Object value) {
-        if (values.containsKey(name.rawText)) {
-            values.put(name.rawText, value);
-            return;
-        }
-
-        if (enclosing != null) {
-            enclosing.assign(name, value);
-            return;
-        }
-
-        throw new RuntimeError(name, "Undefined variable '" + name.rawText + "'.");
+    public Object get(int slot) {
+        return values[slot];
     }
 
-    public void define(String name, Object value) {
-        values.put(name, value);
+    public void define(int slot, Object value) {
+        values[slot] = value;
     }
 
-    public Object getAt(int distance, String name) {
-        return ancestor(distance).values.get(name);
+    public Object getAt(int distance, int slot) {
+        return ancestor(distance).values[slot];
     }
 
-    public void assignAt(int distance, Token name, Object value) {
-        ancestor(distance).values.put(name.rawText, value);
+    public void assignAt(int distance, int slot, Object value) {
+        ancestor(distance).values[slot] = value;
     }
 
     public Environment ancestor(int distance) {
@@ -0,0 +1,5 @@
+package katana.interpreter;
+
+public enum ExecutionMode {
+    TREE, NODE, TIERED
+}
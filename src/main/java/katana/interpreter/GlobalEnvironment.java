@@ -0,0 +1,33 @@
+package katana.interpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GlobalEnvironment {
+    private final Map<String, GlobalVariable> variables = new HashMap<>();
+    private final List<GlobalVariable> table = new ArrayList<>();
+
+    public GlobalVariable intern(String name) {
+        GlobalVariable variable = variables.get(name);
+        if (variable == null) {
+            variable = new GlobalVariable(name, table.size());
+            variables.put(name, variable);
+            table.add(variable);
+        }
+        return variable;
+    }
+
+    public GlobalVariable get(int index) {
+        return table.get(index);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void define(String name, Object value) {
+        intern(name).define(value);
+    }
+}
@@ -0,0 +1,51 @@
+package katana.interpreter;
+
+import katana.model.stmt.FunctionStatement;
+import katana.model.token.Token;
+
+public class GlobalVariable {
+    public final String name;
+    public final int index;
+    Object value;
+    private boolean defined = false;
+    private boolean reassigned = false;
+
+    GlobalVariable(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    public Object get(Token name) {
+        if (defined) {
+            return value;
+        }
+
+        throw new RuntimeError(name, "Undefined variable '" + name.rawText + "'.");
+    }
+
+    public void assign(Token name, Object value) {
+        if (defined) {
+            this.value = value;
+            return;
+        }
+
+        throw new RuntimeError(name, "Undefined variable '" + name.rawText + "'.");
+    }
+
+    public void define(Object value) {
+        this.value = value;
+        this.defined = true;
+    }
+
+    public boolean holds(FunctionStatement declaration) {
+        return value instanceof KatanaFunction function && function.isDeclaredBy(declaration);
+    }
+
+    public void markReassigned() {
+        reassigned = true;
+    }
+
+    public boolean isReassigned() {
+        return reassigned;
+    }
+}
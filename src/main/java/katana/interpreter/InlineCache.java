@@ -0,0 +1,90 @@
+package katana.interpreter;
+
+import katana.model.token.Token;
+
+public final class InlineCache {
+    private static final int LIMIT = 4;
+
+    private final Shape[] shapes = new Shape[LIMIT];
+    private final int[] slots = new int[LIMIT];
+    private final KatanaFunction[] methods = new KatanaFunction[LIMIT];
+    private final Shape[] transitions = new Shape[LIMIT];
+    private int count = 0;
+
+    public Object get(KatanaInstance instance, Token name) {
+        Shape shape = instance.shape;
+        for (int i = 0; i < count; i++) {
+            if (shapes[i] == shape) {
+                KatanaFunction method = methods[i];
+                return method == null ? instance.values[slots[i]] : method.bind(instance);
+            }
+        }
+
+        int slot = shape.indexOf(name.rawText);
+        if (slot >= 0) {
+            add(shape, slot, null, null);
+            return instance.values[slot];
+        }
+        KatanaFunction method = instance.klass.findMethod(name.rawText);
+        if (method == null) {
+            throw new RuntimeError(name, "Undefined property '" + name.rawText + "'.");
+        }
+        add(shape, -1, method, null);
+        return method.bind(instance);
+    }
+
+    public KatanaFunction method(KatanaInstance instance, Token name) {
+        Shape shape = instance.shape;
+        for (int i = 0; i < count; i++) {
+            if (shapes[i] == shape) {
+                return methods[i];
+            }
+        }
+
+        int slot = shape.indexOf(name.rawText);
+        if (slot >= 0) {
+            add(shape, slot, null, null);
+            return null;
+        }
+        KatanaFunction method = instance.klass.findMethod(name.rawText);
+        if (method != null) {
+            add(shape, -1, method, null);
+        }
+        return method;
+    }
+
+    public void set(KatanaInstance instance, Token name, Object value) {
+        Shape shape = instance.shape;
+        for (int i = 0; i < count; i++) {
+            if (shapes[i] == shape) {
+                if (transitions[i] != null) {
+                    instance.transition(transitions[i]);
+                }
+                instance.values[slots[i]] = value;
+                return;
+            }
+        }
+
+        int slot = shape.indexOf(name.rawText);
+        if (slot >= 0) {
+            add(shape, slot, null, null);
+        } else {
+            Shape next = shape.withField(name.rawText);
+            slot = shape.size();
+            add(shape, slot, null, next);
+            instance.transition(next);
+        }
+        instance.values[slot] = value;
+    }
+
+    private void add(Shape shape, int slot, KatanaFunction method, Shape transition) {
+        if (count == LIMIT) {
+            return;
+        }
+        shapes[count] = shape;
+        slots[count] = slot;
+        methods[count] = method;
+        transitions[count] = transition;
+        count++;
+    }
+}
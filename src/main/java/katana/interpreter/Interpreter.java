@@ -2,36 +2,99 @@ package katana.interpreter;
 
 import katana.Katana;
 import katana.interpreter.library.Clock;
+import katana.interpreter.library.Memo;
+import katana.interpreter.library.MemoStatistic;
+import katana.interpreter.node.BlockNode;
+import katana.interpreter.node.NodeBuilder;
+import katana.interpreter.node.StatementNode;
+import katana.model.Storage;
+import katana.model.ValueType;
 import katana.model.expr.*;
 import katana.model.stmt.*;
 import katana.model.token.Token;
 import katana.model.token.TokenType;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
-
-    final Environment globals = new Environment();
-    private Environment environment = globals;
-    private final Map<Expression, Integer> locals = new HashMap<>();
+    private static final int TIER_UP_INVOCATIONS = 1_000;
+    private static final int TIER_UP_BACK_EDGES = 10_000;
+    private static final int DEOPTIMIZATION_LIMIT = 8;
+    private static final Object UNBOXED = new Object();
+
+    final GlobalEnvironment globals = new GlobalEnvironment();
+    private Environment environment = null;
+    private Object[] stack = new Object[256];
+    private double[] numbers = new double[256];
+    private int frame = 0;
+    private int stackTop = 0;
+    private int scriptFrameSize = 0;
+    private boolean returning = false;
+    private Object returnValue = null;
+    private Token callSite = null;
+    private KatanaFunction tailFunction = null;
+    private KatanaInstance tailReceiver = null;
+    private Object[] tailArguments = null;
+    private ExecutionMode mode = ExecutionMode.TREE;
+    private Output output = new StreamOutput(System.out, StreamOutput.Flush.EVERY_LINE);
 
     public Interpreter() {
         setLibraries();
     }
     private void setLibraries() {
         globals.define("clock", new Clock());
+        globals.define("memo", new Memo(value -> value instanceof KatanaCallable));
+        globals.define("memoHits", new MemoStatistic("memoHits", MemoStatistic.Counter.HITS));
+        globals.define("memoMisses", new MemoStatistic("memoMisses", MemoStatistic.Counter.MISSES));
+        globals.define("memoEvictions", new MemoStatistic("memoEvictions", MemoStatistic.Counter.EVICTIONS));
+    }
+
+    public GlobalVariable resolveGlobal(String name) {
+        return globals.intern(name);
+    }
+
+    public void reserveScriptFrame(int size) {
+        scriptFrameSize = size;
+    }
+
+    public int scriptFrameSize() {
+        return scriptFrameSize;
+    }
+
+    public void setExecutionMode(ExecutionMode mode) {
+        this.mode = mode;
+    }
+
+    public void setOutput(Output output) {
+        this.output = output;
+    }
+
+    public void print(Object value) {
+        output.println(value);
     }
 
     public void interpret(List<Statement> statements) {
+        frame = 0;
+        stackTop = 0;
+        returning = false;
+        pushFrame(scriptFrameSize);
         try {
+            if (mode == ExecutionMode.NODE) {
+                new NodeBuilder().build(statements).execute(this);
+                return;
+            }
             for (Statement statement : statements) {
                 execute(statement);
             }
         } catch (RuntimeError error) {
+            error.unwind("script");
+            output.flush();
             Katana.runtimeError(error);
+        } finally {
+            output.flush();
         }
     }
 
@@ -39,20 +102,182 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
         statement.accept(this);
     }
 
-    public void resolve(Expression expression, int depth) {
-        locals.put(expression, depth);
-    }
-
     public void executeBlock(List<Statement> statements, Environment environment) {
         Environment previous = this.environment;
         try {
             this.environment = environment;
+            executeStatements(statements);
+        } finally {
+            this.environment = previous;
+        }
+    }
 
-            for (Statement statement : statements) {
-                execute(statement);
-            }
+    void executeBody(FunctionStatement declaration, Environment environment) {
+        BlockNode body = compiledBody(declaration);
+        if (body == null) {
+            executeBlock(declaration.body, environment);
+            return;
+        }
+
+        Environment previous = this.environment;
+        try {
+            this.environment = environment;
+            body.execute(this);
         } finally {
             this.environment = previous;
+            if (mode == ExecutionMode.TIERED && body.deoptimizationCount() > DEOPTIMIZATION_LIMIT) {
+                declaration.compiledBody = null;
+                declaration.deoptimized = true;
+            }
+        }
+    }
+
+    private BlockNode compiledBody(FunctionStatement declaration) {
+        switch (mode) {
+            case NODE -> {
+                if (declaration.compiledBody == null) {
+                    declaration.compiledBody = new NodeBuilder().build(declaration.body);
+                }
+            }
+            case TIERED -> {
+                if (declaration.compiledBody == null && !declaration.deoptimized
+                        && ++declaration.invocationCount >= TIER_UP_INVOCATIONS) {
+                    declaration.compiledBody = new NodeBuilder().build(declaration.body);
+                }
+            }
+            case TREE -> {
+                return null;
+            }
+        }
+        return declaration.compiledBody;
+    }
+
+    public Environment environment() {
+        return environment;
+    }
+
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    private void executeStatements(List<Statement> statements) {
+        for (int i = 0; i < statements.size(); i++) {
+            execute(statements.get(i));
+            if (returning) {
+                return;
+            }
+        }
+    }
+
+    public boolean isReturning() {
+        return returning;
+    }
+
+    public void returnWith(Object value) {
+        returnValue = value;
+        returning = true;
+    }
+
+    Object takeReturnValue() {
+        Object value = returnValue;
+        returnValue = null;
+        returning = false;
+        return value;
+    }
+
+    public void tailCall(KatanaCallable callable, Object[] arguments, Token paren) {
+        if (callable instanceof KatanaFunction function) {
+            tailInvoke(function, function.receiver(), arguments, paren);
+            return;
+        }
+        callSite = paren;
+        returnWith(callable.call(this, arguments));
+    }
+
+    public void tailInvoke(KatanaFunction method, KatanaInstance receiver, Object[] arguments, Token paren) {
+        tailFunction = method;
+        tailReceiver = receiver;
+        tailArguments = arguments;
+        returnWith(null);
+    }
+
+    KatanaFunction takeTailCall() {
+        KatanaFunction function = tailFunction;
+        tailFunction = null;
+        returning = false;
+        return function;
+    }
+
+    KatanaInstance tailReceiver() {
+        KatanaInstance receiver = tailReceiver;
+        tailReceiver = null;
+        return receiver;
+    }
+
+    Object[] tailArguments() {
+        Object[] arguments = tailArguments;
+        tailArguments = null;
+        return arguments;
+    }
+
+    public void setCallSite(Token paren) {
+        callSite = paren;
+    }
+
+    public Token callSite() {
+        return callSite;
+    }
+
+    int pushFrame(int size) {
+        int previous = frame;
+        frame = stackTop;
+        stackTop += size;
+        if (stackTop > stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(stack.length * 2, stackTop));
+            numbers = Arrays.copyOf(numbers, stack.length);
+        }
+        return previous;
+    }
+
+    void popFrame(int previous) {
+        Arrays.fill(stack, frame, stackTop, null);
+        stackTop = frame;
+        frame = previous;
+    }
+
+    public Object getLocal(int slot) {
+        Object value = stack[frame + slot];
+        if (value == UNBOXED) {
+            return Numbers.box(numbers[frame + slot]);
+        }
+        return value;
+    }
+
+    public double getLocalDouble(int slot) throws UnexpectedResultException {
+        Object value = stack[frame + slot];
+        if (value == UNBOXED) {
+            return numbers[frame + slot];
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        throw new UnexpectedResultException(value);
+    }
+
+    public void setLocal(int slot, Object value) {
+        stack[frame + slot] = value;
+    }
+
+    public void setLocalDouble(int slot, double value) {
+        stack[frame + slot] = UNBOXED;
+        numbers[frame + slot] = value;
+    }
+
+    private void storeNumber(int slot, Expression value) {
+        try {
+            setLocalDouble(slot, evaluateDouble(value));
+        } catch (UnexpectedResultException e) {
+            setLocal(slot, e.result);
         }
     }
 
@@ -60,66 +285,185 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
         return expr.accept(this);
     }
 
+    private double evaluateDouble(Expression expr) throws UnexpectedResultException {
+        if (expr instanceof BinaryExpression binary) {
+            switch (binary.operator.type) {
+                case MINUS, STAR, SLASH -> {
+                    return arithmetic(binary);
+                }
+                case PLUS -> {
+                    if (!binary.sawNonNumber) {
+                        return addNumbers(binary);
+                    }
+                }
+            }
+        } else if (expr instanceof LiteralExpression literal && literal.value instanceof Number number) {
+            return number.doubleValue();
+        } else if (expr instanceof VariableExpression variable && variable.storage == Storage.FRAME) {
+            return getLocalDouble(variable.slot);
+        } else if (expr instanceof GroupingExpression grouping) {
+            return evaluateDouble(grouping.expression);
+        } else if (expr instanceof UnaryExpression unary && unary.operator.type == TokenType.MINUS) {
+            return negate(unary);
+        }
+
+        Object value = evaluate(expr);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        throw new UnexpectedResultException(value);
+    }
+
+    private boolean evaluateBoolean(Expression expr) {
+        if (expr instanceof BinaryExpression binary) {
+            switch (binary.operator.type) {
+                case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL -> {
+                    return compare(binary);
+                }
+            }
+        }
+        return Values.isTruthy(evaluate(expr));
+    }
+
+    private Object numeric(BinaryExpression expr) {
+        if (expr.operator.type != TokenType.PLUS) {
+            return Numbers.box(arithmetic(expr));
+        }
+        try {
+            return Numbers.box(addNumbers(expr));
+        } catch (UnexpectedResultException e) {
+            return e.result;
+        }
+    }
+
+    private boolean isNumeric(Expression expr) {
+        if (expr instanceof BinaryExpression binary) {
+            return switch (binary.operator.type) {
+                case MINUS, STAR, SLASH -> true;
+                case PLUS -> !binary.sawNonNumber;
+                default -> false;
+            };
+        }
+        if (expr instanceof GroupingExpression grouping) {
+            return isNumeric(grouping.expression);
+        }
+        if (expr instanceof UnaryExpression unary) {
+            return unary.operator.type == TokenType.MINUS;
+        }
+        return expr instanceof LiteralExpression literal && literal.value instanceof Number;
+    }
+
+    private double numberOperand(Expression operand, BinaryExpression expr) {
+        try {
+            return evaluateDouble(operand);
+        } catch (UnexpectedResultException e) {
+            if (operand == expr.left) {
+                evaluate(expr.right);
+            }
+            throw new RuntimeError(expr.operator, "Operands must be numbers");
+        }
+    }
+
+    private double arithmetic(BinaryExpression expr) {
+        double left = numberOperand(expr.left, expr);
+        double right = numberOperand(expr.right, expr);
+        return switch (expr.operator.type) {
+            case MINUS -> left - right;
+            case STAR -> left * right;
+            default -> left / right;
+        };
+    }
+
+    private boolean compare(BinaryExpression expr) {
+        double left = numberOperand(expr.left, expr);
+        double right = numberOperand(expr.right, expr);
+        return switch (expr.operator.type) {
+            case GREATER -> left > right;
+            case GREATER_EQUAL -> left >= right;
+            case LESS -> left < right;
+            default -> left <= right;
+        };
+    }
+
+    private double addNumbers(BinaryExpression expr) throws UnexpectedResultException {
+        double left;
+        try {
+            left = evaluateDouble(expr.left);
+        } catch (UnexpectedResultException e) {
+            expr.sawNonNumber = true;
+            throw new UnexpectedResultException(add(expr, e.result, evaluate(expr.right)));
+        }
+        try {
+            return left + evaluateDouble(expr.right);
+        } catch (UnexpectedResultException e) {
+            expr.sawNonNumber = true;
+            throw new UnexpectedResultException(add(expr, left, e.result));
+        }
+    }
+
+    private Object add(BinaryExpression expr, Object left, Object right) {
+        if (isNumbers(left, right)) {
+            return Numbers.add(left, right);
+        }
+        if (isStrings(left, right)) {
+            return Strings.concat(left, right);
+        }
+        throw new RuntimeError(expr.operator, "Operand must be two numbers or two strings.");
+    }
+
+    private double negate(UnaryExpression expr) {
+        try {
+            return -evaluateDouble(expr.right);
+        } catch (UnexpectedResultException e) {
+            throw new RuntimeError(expr.operator, "Operand must be a number");
+        }
+    }
+
     @Override
     public Object visitAssignExpr(AssignExpression expr) {
         Object value = evaluate(expr.value);
-        Integer distance = locals.get(expr);
-        if (distance != null) {
-            environment.assignAt(distance, expr.name, value);
-        } else {
-            globals.assign(expr.name, value);
+        switch (expr.storage) {
+            case FRAME -> stack[frame + expr.slot] = value;
+            case ENVIRONMENT -> environment.assignAt(expr.depth, expr.slot, value);
+            case GLOBAL -> expr.global.assign(expr.name, value);
         }
         return value;
     }
 
     @Override
     public Object visitBinaryExpr(BinaryExpression expr) {
+        switch (expr.operator.type) {
+            case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL -> {
+                return compare(expr);
+            }
+            case MINUS, STAR, SLASH, PLUS -> {
+                if (expr.left.type == ValueType.NUMBER && expr.right.type == ValueType.NUMBER) {
+                    return numeric(expr);
+                }
+            }
+        }
+
         Object left = evaluate(expr.left);
         Object right = evaluate(expr.right);
 
         switch (expr.operator.type) {
-            case GREATER -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left > (double) right;
-            }
-            case GREATER_EQUAL -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left >= (double) right;
+            case MINUS -> {
+                return Numbers.subtract(checkNumberOperands(expr, left, right), right);
             }
-            case LESS -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left < (double) right;
+            case STAR -> {
+                return Numbers.multiply(checkNumberOperands(expr, left, right), right);
             }
-            case LESS_EQUAL -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left <= (double) right;
+            case SLASH -> {
+                return Numbers.divide(checkNumberOperands(expr, left, right), right);
             }
             case BANG_EQUAL -> {
-                return !isEqual(left, right);
+                return !Values.isEqual(left, right);
             }
             case EQUAL_EQUAL -> {
-                return isEqual(left, right);
-            }
-            case MINUS -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left - (double) right;
+                return Values.isEqual(left, right);
             }
             case PLUS -> {
-                if (isNumbers(left, right)) {
-                    return (double) left + (double) right;
-                }
-                if (isStrings(left, right)) {
-                    return left + (String) right;
-                }
-                throw new RuntimeError(expr.operator, "Operand must be two numbers or two strings.");
-            }
-            case SLASH -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left / (double) right;
-            }
-            case STAR -> {
-                checkNumberOperand(expr.operator, left, right);
-                return (double) left * (double) right;
+                return add(expr, left, right);
             }
         }
 
@@ -128,29 +472,224 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
 
     @Override
     public Object visitCallExpr(CallExpression expr) {
-        Object callee = evaluate(expr.callee);
+        if (expr.inlined != null && ((VariableExpression) expr.callee).global.holds(expr.inlined)) {
+            return evaluateInlined(expr);
+        }
+
+        KatanaCallable linked = expr.linked;
+        if (linked != null && linked == expr.linkedGlobal.value) {
+            return callValue(expr, linked);
+        }
+
+        if (expr.callee instanceof GetExpression get) {
+            return invokeProperty(expr, get);
+        }
+        if (expr.callee instanceof SuperExpression superExpr) {
+            KatanaFunction method = superMethod(superExpr);
+            KatanaInstance receiver = (KatanaInstance) lookUpVariable(superExpr.receiver.keyword, superExpr.receiver);
+            return invokeMethod(expr, method, receiver);
+        }
+
+        return callValue(expr, evaluate(expr.callee));
+    }
+
+    private Object evaluateInlined(CallExpression expr) {
+        int[] slots = expr.inlinedSlots;
+        for (int i = 0; i < slots.length; i++) {
+            setLocal(slots[i], evaluate(expr.arguments.get(i)));
+        }
+        try {
+            return evaluate(expr.inlinedBody);
+        } catch (RuntimeError error) {
+            error.unwind(expr.inlined.name.rawText);
+            error.calledFrom(expr.paren);
+            throw error;
+        }
+    }
+
+    private void tailCall(CallExpression expr) {
+        KatanaCallable linked = expr.linked;
+        if (linked != null && linked == expr.linkedGlobal.value) {
+            tailCall(linked, evaluateArguments(expr), expr.paren);
+            return;
+        }
+
+        Object callee;
+        if (expr.callee instanceof GetExpression get) {
+            Object object = evaluate(get.object);
+            if (!(object instanceof KatanaInstance instance)) {
+                throw new RuntimeError(get.name, "Only instances have properties.");
+            }
+            KatanaFunction method = get.cache.method(instance, get.name);
+            if (method != null) {
+                tailInvoke(expr, method, instance);
+                return;
+            }
+            callee = get.cache.get(instance, get.name);
+        } else if (expr.callee instanceof SuperExpression superExpr) {
+            KatanaFunction method = superMethod(superExpr);
+            tailInvoke(expr, method, (KatanaInstance) lookUpVariable(superExpr.receiver.keyword, superExpr.receiver));
+            return;
+        } else {
+            callee = evaluate(expr.callee);
+        }
+
+        Object[] arguments = evaluateArguments(expr);
+        tailCall(checkCallable(expr, callee), arguments, expr.paren);
+    }
+
+    private void tailInvoke(CallExpression expr, KatanaFunction method, KatanaInstance receiver) {
+        Object[] arguments = evaluateArguments(expr);
+        checkArity(expr, method);
+        tailInvoke(method, receiver, arguments, expr.paren);
+    }
 
-        List<Object> arguments = new ArrayList<>();
-        for (Expression argument : expr.arguments) {
-            arguments.add(evaluate(argument));
+    private Object invokeProperty(CallExpression expr, GetExpression get) {
+        Object object = evaluate(get.object);
+        if (!(object instanceof KatanaInstance instance)) {
+            throw new RuntimeError(get.name, "Only instances have properties.");
         }
 
+        KatanaFunction method = get.cache.method(instance, get.name);
+        if (method == null) {
+            return callValue(expr, get.cache.get(instance, get.name));
+        }
+
+        return invokeMethod(expr, method, instance);
+    }
+
+    private Object invokeMethod(CallExpression expr, KatanaFunction method, KatanaInstance receiver) {
+        List<Expression> arguments = expr.arguments;
+        switch (arguments.size()) {
+            case 0 -> {
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke0(this, receiver);
+            }
+            case 1 -> {
+                Object a0 = evaluate(arguments.get(0));
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke1(this, receiver, a0);
+            }
+            case 2 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke2(this, receiver, a0, a1);
+            }
+            case 3 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                Object a2 = evaluate(arguments.get(2));
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke3(this, receiver, a0, a1, a2);
+            }
+            case 4 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                Object a2 = evaluate(arguments.get(2));
+                Object a3 = evaluate(arguments.get(3));
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke4(this, receiver, a0, a1, a2, a3);
+            }
+            default -> {
+                Object[] values = evaluateArguments(expr);
+                checkArity(expr, method);
+                callSite = expr.paren;
+                return method.invoke(this, receiver, values);
+            }
+        }
+    }
+
+    private Object callValue(CallExpression expr, Object callee) {
+        List<Expression> arguments = expr.arguments;
+        switch (arguments.size()) {
+            case 0 -> {
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call0(this);
+            }
+            case 1 -> {
+                Object a0 = evaluate(arguments.get(0));
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call1(this, a0);
+            }
+            case 2 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call2(this, a0, a1);
+            }
+            case 3 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                Object a2 = evaluate(arguments.get(2));
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call3(this, a0, a1, a2);
+            }
+            case 4 -> {
+                Object a0 = evaluate(arguments.get(0));
+                Object a1 = evaluate(arguments.get(1));
+                Object a2 = evaluate(arguments.get(2));
+                Object a3 = evaluate(arguments.get(3));
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call4(this, a0, a1, a2, a3);
+            }
+            default -> {
+                Object[] values = evaluateArguments(expr);
+                KatanaCallable function = checkCallable(expr, callee);
+                callSite = expr.paren;
+                return function.call(this, values);
+            }
+        }
+    }
+
+    private KatanaCallable checkCallable(CallExpression expr, Object callee) {
+        if (callee != null && callee == expr.linked) {
+            return expr.linked;
+        }
         if (!(callee instanceof KatanaCallable function)) {
             throw new RuntimeError(expr.paren, "Can only call functions and classes.");
         }
+        checkArity(expr, function);
+        link(expr, function);
+        return function;
+    }
+
+    private void checkArity(CallExpression expr, KatanaCallable function) {
+        if (expr.arguments.size() != function.arity()) {
+            throw new RuntimeError(expr.paren, "Expected " + function.arity() + " arguments but got " + expr.arguments.size() + ".");
+        }
+    }
 
-        if (arguments.size() != function.arity()) {
-            throw new RuntimeError(expr.paren, "Expected " + function.arity() + " arguments but got " + arguments.size() + ".");
+    private Object[] evaluateArguments(CallExpression expr) {
+        Object[] values = new Object[expr.arguments.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = evaluate(expr.arguments.get(i));
         }
+        return values;
+    }
 
-        return function.call(this, arguments);
+    private void link(CallExpression expr, KatanaCallable function) {
+        if (expr.callee instanceof VariableExpression variable && variable.isGlobal() && !variable.global.isReassigned()) {
+            expr.linkedGlobal = variable.global;
+            expr.linked = function;
+        }
     }
 
     @Override
     public Object visitGetExpr(GetExpression expr) {
         Object object = evaluate(expr.object);
-        if (object instanceof KatanaInstance) {
-            return ((KatanaInstance) object).get(expr.name);
+        if (object instanceof KatanaInstance instance) {
+            return expr.cache.get(instance, expr.name);
         }
 
         throw new RuntimeError(expr.name, "Only instances have properties.");
@@ -171,12 +710,12 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
         Object left = evaluate(expr.left);
 
         if (expr.operator.type == TokenType.OR) {
-            if (isTruthy(left)) {
+            if (Values.isTruthy(left)) {
+                return left;
+            }
+        } else {
+            if (!Values.isTruthy(left)) {
                 return left;
-            } else {
-                if (!isTruthy(left)) {
-                    return left;
-                }
             }
         }
         return evaluate(expr.right);
@@ -186,27 +725,34 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
     public Object visitSetExpr(SetExpression expr) {
         Object object = evaluate(expr.object);
 
-        if (!(object instanceof KatanaInstance)) {
+        if (!(object instanceof KatanaInstance instance)) {
             throw new RuntimeError(expr.name, "Only instances have fields.");
         }
 
         Object value = evaluate(expr.value);
-        ((KatanaInstance) object).set(expr.name, value);
+        expr.cache.set(instance, expr.name, value);
         return value;
     }
 
     @Override
     public Object visitSuperExpr(SuperExpression expr) {
-        int distance = locals.get(expr);
-        KatanaClass superClass = (KatanaClass) environment.getAt(distance, "super");
-        KatanaInstance object = (KatanaInstance) environment.getAt(distance - 1, "this");
-        KatanaFunction method = superClass.findMethod(expr.method.rawText);
+        KatanaFunction method = superMethod(expr);
+        return method.bind((KatanaInstance) lookUpVariable(expr.receiver.keyword, expr.receiver));
+    }
 
+    private KatanaFunction superMethod(SuperExpression expr) {
+        KatanaClass superClass = (KatanaClass) environment.getAt(expr.depth, expr.slot);
+        if (superClass == expr.linkedClass) {
+            return expr.linkedMethod;
+        }
+
+        KatanaFunction method = superClass.findMethod(expr.method.rawText);
         if (method == null) {
             throw new RuntimeError(expr.method, "Undefined property '" + expr.method.rawText + "'.");
         }
-
-        return method.bind(object);
+        expr.linkedClass = superClass;
+        expr.linkedMethod = method;
+        return method;
     }
 
     @Override
@@ -216,15 +762,16 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
 
     @Override
     public Object visitUnaryExpr(UnaryExpression expr) {
-        Object right = evaluate(expr.right);
-
         switch (expr.operator.type) {
             case MINUS -> {
-                checkNumberOperand(expr.operator, right);
-                return -(double) right;
+                Object right = evaluate(expr.right);
+                if (!Numbers.isNumber(right)) {
+                    throw new RuntimeError(expr.operator, "Operand must be a number");
+                }
+                return Numbers.negate(right);
             }
             case BANG -> {
-                return !isTruthy(right);
+                return !Values.isTruthy(evaluate(expr.right));
             }
         }
 
@@ -238,7 +785,11 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
 
     @Override
     public Void visitBlockStmt(BlockStatement stmt) {
-        executeBlock(stmt.statements, new Environment(environment));
+        if (stmt.slotCount == 0) {
+            executeStatements(stmt.statements);
+        } else {
+            executeBlock(stmt.statements, new Environment(environment, stmt.slotCount));
+        }
         return null;
     }
 
@@ -246,11 +797,11 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
     public Void visitClassStmt(ClassStatement stmt) {
         KatanaClass superClass = evaluateSuperClass(stmt);
 
-        environment.define(stmt.name.rawText, null);
+        define(stmt, stmt.name, null);
 
         if (superClass != null) {
-            environment = new Environment(environment);
-            environment.define("super", superClass);
+            environment = new Environment(environment, 1);
+            environment.define(0, superClass);
         }
 
         Map<String, KatanaFunction> methods = new HashMap<>();
@@ -265,7 +816,7 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
             environment = environment.enclosing;
         }
 
-        environment.assign(stmt.name, klass);
+        define(stmt, stmt.name, klass);
         return null;
     }
 
@@ -282,6 +833,10 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
 
     @Override
     public Void visitExpressionStmt(ExpressionStatement stmt) {
+        if (stmt.expression instanceof AssignExpression assign && assign.storage == Storage.FRAME && isNumeric(assign.value)) {
+            storeNumber(assign.slot, assign.value);
+            return null;
+        }
         evaluate(stmt.expression);
         return null;
     }
@@ -289,13 +844,13 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
     @Override
     public Void visitFunctionStmt(FunctionStatement stmt) {
         KatanaFunction function = new KatanaFunction(stmt, environment, false);
-        environment.define(stmt.name.rawText, function);
+        define(stmt, stmt.name, function);
         return null;
     }
 
     @Override
     public Void visitIfStmt(IfStatement stmt) {
-        if (isTruthy(evaluate(stmt.condition))) {
+        if (evaluateBoolean(stmt.condition)) {
             execute(stmt.thenBranch);
         } else if (stmt.elseBranch != null) {
             execute(stmt.elseBranch);
@@ -306,111 +861,167 @@ public class Interpreter implements ExprVisitor<Object>, StmtVisitor<Void> {
 
     @Override
     public Void visitPrintStmt(PrintStatement stmt) {
-        Object value = evaluate(stmt.expression);
-        System.out.println(stringify(value));
+        output.println(evaluate(stmt.expression));
         return null;
     }
 
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        double counter = rangeBound(stmt, evaluate(stmt.start));
+        double end = rangeBound(stmt, evaluate(stmt.end));
+        double step = rangeBound(stmt, evaluate(stmt.step));
+        if (step == 0) {
+            throw new RuntimeError(stmt.operator, "Range step can't be zero.");
+        }
+
+        while (Numbers.inRange(counter, end, step, stmt.inclusive)) {
+            executeRangeBody(stmt, counter);
+            if (returning) {
+                return null;
+            }
+            if (!stmt.fixedEnd) {
+                end = rangeBound(stmt, evaluate(stmt.end));
+            }
+            counter += step;
+        }
+        return null;
+    }
+
+    private double rangeBound(RangeStatement stmt, Object value) {
+        if (!Numbers.isNumber(value)) {
+            throw new RuntimeError(stmt.operator, "Operands must be numbers");
+        }
+        return Numbers.toDouble(value);
+    }
+
+    private void executeRangeBody(RangeStatement stmt, double counter) {
+        if (stmt.slotCount == 0) {
+            setLocalDouble(stmt.slot, counter);
+            executeRangeBody(stmt);
+            return;
+        }
+
+        Environment previous = environment;
+        try {
+            environment = new Environment(previous, stmt.slotCount);
+            environment.define(stmt.slot, Numbers.box(counter));
+            executeRangeBody(stmt);
+        } finally {
+            environment = previous;
+        }
+    }
+
+    private void executeRangeBody(RangeStatement stmt) {
+        StatementNode body = stmt.compiledBody;
+        if (body == null) {
+            execute(stmt.body);
+            if (mode == ExecutionMode.TIERED && !stmt.deoptimized && ++stmt.backEdgeCount >= TIER_UP_BACK_EDGES) {
+                stmt.compiledBody = new NodeBuilder().buildBody(stmt);
+            }
+            return;
+        }
+
+        body.execute(this);
+        if (body.deoptimizationCount() > DEOPTIMIZATION_LIMIT) {
+            stmt.compiledBody = null;
+            stmt.deoptimized = true;
+        }
+    }
+
     @Override
     public Void visitReturnStmt(ReturnStatement stmt) {
+        if (stmt.tailCall) {
+            tailCall((CallExpression) stmt.value);
+            return null;
+        }
+
         Object value = null;
         if (stmt.value != null) {
             value = evaluate(stmt.value);
         }
 
-        throw new ReturnValue(value);
+        returnWith(value);
+        return null;
     }
 
     @Override
     public Void visitVarStmt(VarStatement stmt) {
+        if (stmt.storage == Storage.FRAME && stmt.initializer != null && isNumeric(stmt.initializer)) {
+            storeNumber(stmt.slot, stmt.initializer);
+            return null;
+        }
+
         Object value = null;
         if (stmt.initializer != null) {
             value = evaluate(stmt.initializer);
         }
 
-        environment.define(stmt.name.rawText, value);
+        define(stmt, stmt.name, value);
         return null;
     }
 
+    public void define(DeclarationStatement declaration, Token name, Object value) {
+        switch (declaration.storage) {
+            case FRAME -> stack[frame + declaration.slot] = value;
+            case ENVIRONMENT -> environment.define(declaration.slot, value);
+            case GLOBAL -> globals.define(name.rawText, value);
+        }
+    }
+
     @Override
     public Void visitWhileStmt(WhileStatement stmt) {
-        while (isTruthy(evaluate(stmt.condition))) {
+        if (stmt.compiledLoop != null && executeCompiledLoop(stmt)) {
+            return null;
+        }
+        while (evaluateBoolean(stmt.condition)) {
             execute(stmt.body);
+            if (returning) {
+                return null;
+            }
+            if (tierUpLoop(stmt) && executeCompiledLoop(stmt)) {
+                return null;
+            }
         }
         return null;
     }
 
-    private boolean isTruthy(Object object) {
-        if (object == null) {
+    private boolean tierUpLoop(WhileStatement stmt) {
+        if (mode != ExecutionMode.TIERED || stmt.deoptimized || ++stmt.backEdgeCount < TIER_UP_BACK_EDGES) {
             return false;
         }
-        if (object instanceof Boolean) {
-            return (boolean) object;
-        }
+        stmt.compiledLoop = new NodeBuilder().buildLoop(stmt);
         return true;
     }
 
-    private String stringify(Object object) {
-        if (object == null) {
-            return "null";
-        }
-
-        if (isNumber(object)) {
-            return doubleStringify((Double) object);
-        }
-
-        return object.toString();
-    }
-
-    private String doubleStringify(Double obj) {
-        String text = obj.toString();
-        if (text.endsWith(".0")) {
-            text = text.substring(0, text.length() - 2);
+    private boolean executeCompiledLoop(WhileStatement stmt) {
+        if (stmt.compiledLoop.execute(this, DEOPTIMIZATION_LIMIT)) {
+            return true;
         }
-        return text;
+        stmt.compiledLoop = null;
+        stmt.deoptimized = true;
+        return false;
     }
 
-    private void checkNumberOperand(Token operator, Object operand) {
-        if (isNumber(operand)) return;
-        throw new RuntimeError(operator, "Operand must be a number");
+    private boolean isNumbers(Object left, Object right) {
+        return Numbers.isNumber(left) && Numbers.isNumber(right);
     }
 
-    private void checkNumberOperand(Token operator, Object left, Object right) {
-        if (isNumbers(left, right)) {
-            return;
+    private Object checkNumberOperands(BinaryExpression expr, Object left, Object right) {
+        if (!isNumbers(left, right)) {
+            throw new RuntimeError(expr.operator, "Operands must be numbers");
         }
-        throw new RuntimeError(operator, "Operands must be numbers");
-    }
-
-    private boolean isNumber(Object obj) {
-        return obj instanceof Double;
-    }
-
-    private boolean isNumbers(Object left, Object right) {
-        return left instanceof Double && right instanceof Double;
+        return left;
     }
 
     private boolean isStrings(Object left, Object right) {
-        return left instanceof String && right instanceof String;
+        return Strings.isString(left) && Strings.isString(right);
     }
 
-    private boolean isEqual(Object a, Object b) {
-        if (a == null && b == null) {
-            return true;
-        }
-        if (a == null) {
-            return false;
-        }
-
-        return a.equals(b);
-    }
-
-    private Object lookUpVariable(Token name, Expression expression) {
-        Integer distance = locals.get(expression);
-        if (distance != null) {
-            return environment.getAt(distance, name.rawText);
-        } else {
-            return globals.get(name);
-        }
+    private Object lookUpVariable(Token name, ResolvableExpression expression) {
+        return switch (expression.storage) {
+            case FRAME -> getLocal(expression.slot);
+            case ENVIRONMENT -> environment.getAt(expression.depth, expression.slot);
+            case GLOBAL -> expression.global.get(name);
+        };
     }
 }
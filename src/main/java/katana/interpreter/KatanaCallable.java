@@ -1,8 +1,27 @@
 package katana.interpreter;
 
-import java.util.List;
-
 public interface KatanaCallable {
     int arity();
-    Object call(Interpreter interpreter, List<Object> arguments);
+
+    Object call(Interpreter interpreter, Object[] arguments);
+
+    default Object call0(Interpreter interpreter) {
+        return call(interpreter, new Object[0]);
+    }
+
+    default Object call1(Interpreter interpreter, Object a0) {
+        return call(interpreter, new Object[]{a0});
+    }
+
+    default Object call2(Interpreter interpreter, Object a0, Object a1) {
+        return call(interpreter, new Object[]{a0, a1});
+    }
+
+    default Object call3(Interpreter interpreter, Object a0, Object a1, Object a2) {
+        return call(interpreter, new Object[]{a0, a1, a2});
+    }
+
+    default Object call4(Interpreter interpreter, Object a0, Object a1, Object a2, Object a3) {
+        return call(interpreter, new Object[]{a0, a1, a2, a3});
+    }
 }
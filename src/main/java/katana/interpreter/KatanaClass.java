@@ -1,47 +1,81 @@
 package katana.interpreter;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 public class KatanaClass implements KatanaCallable {
     String name;
     KatanaClass superClass;
     private final Map<String, KatanaFunction> methods;
+    private final KatanaFunction initializer;
+    private final int arity;
+    final Shape shape = Shape.root();
+    int instanceSize;
 
     public KatanaClass(String name, KatanaClass superClass, Map<String, KatanaFunction> methods) {
         this.name = name;
         this.superClass = superClass;
-        this.methods = methods;
+        this.methods = flatten(superClass, methods);
+        this.initializer = this.methods.get("constructor");
+        this.arity = initializer == null ? 0 : initializer.arity();
     }
 
-    KatanaFunction findMethod(String name) {
-        if (methods.containsKey(name)) {
-            return methods.get(name);
-        }
-
-        if (superClass != null) {
-            return superClass.findMethod(name);
+    private static Map<String, KatanaFunction> flatten(KatanaClass superClass, Map<String, KatanaFunction> methods) {
+        if (superClass == null) {
+            return methods;
         }
+        Map<String, KatanaFunction> table = new HashMap<>(superClass.methods);
+        table.putAll(methods);
+        return table;
+    }
 
-        return null;
+    public KatanaFunction findMethod(String name) {
+        return methods.get(name);
     }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> arguments) {
-        KatanaInstance instance = new KatanaInstance(this);
-        KatanaFunction initializer = findMethod("constructor");
-        if (initializer != null) {
-            initializer.bind(instance).call(interpreter, arguments);
+    public Object call(Interpreter interpreter, Object[] arguments) {
+        if (initializer == null) {
+            return new KatanaInstance(this);
         }
-        return instance;
+        return initializer.invoke(interpreter, new KatanaInstance(this), arguments);
     }
 
     @Override
-    public int arity() {
-        KatanaFunction initializer = findMethod("constructor");
+    public Object call0(Interpreter interpreter) {
         if (initializer == null) {
-            return 0;
+            return new KatanaInstance(this);
         }
-        return initializer.arity();
+        return initializer.invoke0(interpreter, new KatanaInstance(this));
+    }
+
+    @Override
+    public Object call1(Interpreter interpreter, Object a0) {
+        return initializer.invoke1(interpreter, new KatanaInstance(this), a0);
+    }
+
+    @Override
+    public Object call2(Interpreter interpreter, Object a0, Object a1) {
+        return initializer.invoke2(interpreter, new KatanaInstance(this), a0, a1);
+    }
+
+    @Override
+    public Object call3(Interpreter interpreter, Object a0, Object a1, Object a2) {
+        return initializer.invoke3(interpreter, new KatanaInstance(this), a0, a1, a2);
+    }
+
+    @Override
+    public Object call4(Interpreter interpreter, Object a0, Object a1, Object a2, Object a3) {
+        return initializer.invoke4(interpreter, new KatanaInstance(this), a0, a1, a2, a3);
+    }
+
+    @Override
+    public int arity() {
+        return arity;
+    }
+
+    @Override
+    public String toString() {
+        return name;
     }
 }
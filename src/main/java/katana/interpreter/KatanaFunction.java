@@ -1,47 +1,182 @@
 package katana.interpreter;
 
 import katana.model.stmt.FunctionStatement;
-
-import java.util.List;
+import katana.model.token.Token;
 
 public class KatanaFunction implements KatanaCallable {
     private final FunctionStatement declaration;
     private final Environment closure;
+    private final KatanaInstance receiver;
 
     private final boolean isInitializer;
 
     public KatanaFunction(FunctionStatement declaration, Environment closure, boolean isInitializer) {
+        this(declaration, closure, isInitializer, null);
+    }
+
+    private KatanaFunction(FunctionStatement declaration, Environment closure, boolean isInitializer, KatanaInstance receiver) {
         this.declaration = declaration;
         this.closure = closure;
         this.isInitializer = isInitializer;
+        this.receiver = receiver;
+    }
+
+    public KatanaFunction bind(KatanaInstance instance) {
+        return new KatanaFunction(declaration, closure, isInitializer, instance);
+    }
+
+    @Override
+    public Object call(Interpreter interpreter, Object[] arguments) {
+        return invoke(interpreter, receiver, arguments);
+    }
+
+    @Override
+    public Object call0(Interpreter interpreter) {
+        return invoke0(interpreter, receiver);
+    }
+
+    @Override
+    public Object call1(Interpreter interpreter, Object a0) {
+        return invoke1(interpreter, receiver, a0);
+    }
+
+    @Override
+    public Object call2(Interpreter interpreter, Object a0, Object a1) {
+        return invoke2(interpreter, receiver, a0, a1);
     }
 
-    KatanaFunction bind(KatanaInstance instance) {
-        Environment environment = new Environment(closure);
-        environment.define("this", instance);
-        return new KatanaFunction(declaration, environment, isInitializer);
+    @Override
+    public Object call3(Interpreter interpreter, Object a0, Object a1, Object a2) {
+        return invoke3(interpreter, receiver, a0, a1, a2);
     }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> arguments) {
-        Environment environment = new Environment(closure);
-        for (int i = 0; i < declaration.params.size(); i++) {
-            environment.define(declaration.params.get(i).rawText, arguments.get(i));
+    public Object call4(Interpreter interpreter, Object a0, Object a1, Object a2, Object a3) {
+        return invoke4(interpreter, receiver, a0, a1, a2, a3);
+    }
+
+    public Object invoke(Interpreter interpreter, KatanaInstance receiver, Object[] arguments) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        for (int i = 0; i < arguments.length; i++) {
+            parameter(interpreter, environment, i, arguments[i]);
         }
+        return run(interpreter, environment, receiver, previousFrame);
+    }
 
+    public Object invoke0(Interpreter interpreter, KatanaInstance receiver) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        return run(interpreter, environment, receiver, previousFrame);
+    }
+
+    public Object invoke1(Interpreter interpreter, KatanaInstance receiver, Object a0) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        parameter(interpreter, environment, 0, a0);
+        return run(interpreter, environment, receiver, previousFrame);
+    }
+
+    public Object invoke2(Interpreter interpreter, KatanaInstance receiver, Object a0, Object a1) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        parameter(interpreter, environment, 0, a0);
+        parameter(interpreter, environment, 1, a1);
+        return run(interpreter, environment, receiver, previousFrame);
+    }
+
+    public Object invoke3(Interpreter interpreter, KatanaInstance receiver, Object a0, Object a1, Object a2) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        parameter(interpreter, environment, 0, a0);
+        parameter(interpreter, environment, 1, a1);
+        parameter(interpreter, environment, 2, a2);
+        return run(interpreter, environment, receiver, previousFrame);
+    }
+
+    public Object invoke4(Interpreter interpreter, KatanaInstance receiver, Object a0, Object a1, Object a2, Object a3) {
+        Environment environment = newEnvironment();
+        int previousFrame = interpreter.pushFrame(declaration.frameSize);
+        parameter(interpreter, environment, 0, a0);
+        parameter(interpreter, environment, 1, a1);
+        parameter(interpreter, environment, 2, a2);
+        parameter(interpreter, environment, 3, a3);
+        return run(interpreter, environment, receiver, previousFrame);
+    }
+
+    private Environment newEnvironment() {
+        if (declaration.slotCount > 0) {
+            return new Environment(closure, declaration.slotCount);
+        }
+        return closure;
+    }
+
+    private void parameter(Interpreter interpreter, Environment environment, int index, Object value) {
+        int slot = declaration.paramSlots[index];
+        if (slot < 0) {
+            interpreter.setLocal(index, value);
+        } else {
+            environment.define(slot, value);
+        }
+    }
+
+    boolean isDeclaredBy(FunctionStatement declaration) {
+        return this.declaration == declaration;
+    }
+
+    KatanaInstance receiver() {
+        return receiver;
+    }
+
+    private Object run(Interpreter interpreter, Environment environment, KatanaInstance receiver, int previousFrame) {
+        Token callSite = interpreter.callSite();
+        KatanaFunction function = this;
+        Object value;
         try {
-            interpreter.executeBlock(declaration.body, environment);
-        } catch (ReturnValue functionReturn) {
-            if (isInitializer) {
-                return closure.getAt(0, "this");
+            while (true) {
+                function.bindReceiver(interpreter, environment, receiver);
+                interpreter.executeBody(function.declaration, environment);
+                KatanaFunction next = interpreter.takeTailCall();
+                if (next == null) {
+                    break;
+                }
+
+                receiver = interpreter.tailReceiver();
+                Object[] arguments = interpreter.tailArguments();
+                interpreter.popFrame(previousFrame);
+                interpreter.pushFrame(next.declaration.frameSize);
+                environment = next.newEnvironment();
+                for (int i = 0; i < arguments.length; i++) {
+                    next.parameter(interpreter, environment, i, arguments[i]);
+                }
+                function = next;
             }
-            return functionReturn.value;
+            value = interpreter.takeReturnValue();
+        } catch (RuntimeError error) {
+            error.unwind(function.declaration.name.rawText);
+            if (callSite != null) {
+                error.calledFrom(callSite);
+            }
+            throw error;
+        } finally {
+            interpreter.popFrame(previousFrame);
         }
 
-        if (isInitializer) {
-            return closure.getAt(0, "this");
+        if (function.isInitializer) {
+            return receiver;
+        }
+        return value;
+    }
+
+    private void bindReceiver(Interpreter interpreter, Environment environment, KatanaInstance receiver) {
+        if (receiver == null) {
+            return;
+        }
+        if (declaration.receiverSlot < 0) {
+            interpreter.setLocal(declaration.params.size(), receiver);
+        } else {
+            environment.define(declaration.receiverSlot, receiver);
         }
-        return null;
     }
 
     @Override
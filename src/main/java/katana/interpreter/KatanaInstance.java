@@ -2,20 +2,25 @@ package katana.interpreter;
 
 import katana.model.token.Token;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 public class KatanaInstance {
-    private KatanaClass klass;
-    private final Map<String, Object> fields = new HashMap<>();
+    private static final Object[] NO_VALUES = new Object[0];
+
+    final KatanaClass klass;
+    Shape shape;
+    Object[] values;
 
     public KatanaInstance(KatanaClass klass) {
         this.klass = klass;
+        this.shape = klass.shape;
+        this.values = klass.instanceSize == 0 ? NO_VALUES : new Object[klass.instanceSize];
     }
 
-    Object get(Token name) {
-        if (fields.containsKey(name.rawText)) {
-            return fields.get(name.rawText);
+    public Object get(Token name) {
+        int slot = shape.indexOf(name.rawText);
+        if (slot >= 0) {
+            return values[slot];
         }
 
         KatanaFunction method = klass.findMethod(name.rawText);
@@ -27,7 +32,20 @@ public class KatanaInstance {
     }
 
     public void set(Token name, Object value) {
-        fields.put(name.rawText, value);
+        int slot = shape.indexOf(name.rawText);
+        if (slot < 0) {
+            slot = shape.size();
+            transition(shape.withField(name.rawText));
+        }
+        values[slot] = value;
+    }
+
+    void transition(Shape next) {
+        shape = next;
+        klass.instanceSize = Math.max(klass.instanceSize, next.size());
+        if (next.size() > values.length) {
+            values = Arrays.copyOf(values, klass.instanceSize);
+        }
     }
 
     @Override
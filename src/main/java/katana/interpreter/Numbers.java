@@ -0,0 +1,235 @@
+package katana.interpreter;
+
+public final class Numbers {
+    private static final long MAX_EXACT = 1L << 53;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    public static final int MAX_FORMATTED_LENGTH = 32;
+
+    private Numbers() {
+    }
+
+    public static boolean isNumber(Object value) {
+        return value instanceof Long || value instanceof Double;
+    }
+
+    public static double toDouble(Object number) {
+        return ((Number) number).doubleValue();
+    }
+
+    public static Object box(double value) {
+        long integral = (long) value;
+        if (integral == value && integral <= MAX_EXACT && integral >= -MAX_EXACT
+                && (integral != 0 || Double.doubleToRawLongBits(value) == 0)) {
+            return integral;
+        }
+        return value;
+    }
+
+    public static Object valueOf(String text) {
+        if (text.indexOf('.') < 0 && text.length() <= 16) {
+            long value = Long.parseLong(text);
+            if (value <= MAX_EXACT) {
+                return value;
+            }
+        }
+        return Double.parseDouble(text);
+    }
+
+    public static Object add(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b) {
+            return exact(a + b);
+        }
+        return toDouble(left) + toDouble(right);
+    }
+
+    public static Object subtract(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b) {
+            return exact(a - b);
+        }
+        return toDouble(left) - toDouble(right);
+    }
+
+    public static Object multiply(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b) {
+            double product = (double) a * (double) b;
+            if (Math.abs(product) >= MAX_EXACT) {
+                return product;
+            }
+            if (product == 0 && (a < 0 || b < 0)) {
+                return -0.0;
+            }
+            return a * b;
+        }
+        return toDouble(left) * toDouble(right);
+    }
+
+    public static Object divide(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b
+                && b != 0 && a % b == 0 && (a != 0 || b > 0)) {
+            return a / b;
+        }
+        return toDouble(left) / toDouble(right);
+    }
+
+    public static Object negate(Object number) {
+        if (number instanceof Long value) {
+            return value == 0 ? (Object) (-0.0) : (Object) (-value);
+        }
+        return -(double) number;
+    }
+
+    public static boolean less(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b) {
+            return a < b;
+        }
+        return toDouble(left) < toDouble(right);
+    }
+
+    public static boolean lessEqual(Object left, Object right) {
+        if (left instanceof Long a && right instanceof Long b) {
+            return a <= b;
+        }
+        return toDouble(left) <= toDouble(right);
+    }
+
+    public static boolean isEqual(Object left, Object right) {
+        return Double.doubleToLongBits(toDouble(left)) == Double.doubleToLongBits(toDouble(right));
+    }
+
+    public static boolean inRange(double counter, double end, double step, boolean inclusive) {
+        if (step > 0) {
+            return inclusive ? counter <= end : counter < end;
+        }
+        return inclusive ? counter >= end : counter > end;
+    }
+
+    public static String stringify(long value) {
+        if (Math.abs(value) < 10_000_000) {
+            return Long.toString(value);
+        }
+        return Values.stringify((double) value);
+    }
+
+    public static int format(long value, char[] buffer) {
+        if (Math.abs(value) >= 10_000_000) {
+            return format((double) value, buffer);
+        }
+        int length = 0;
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        return writeDigits(value, digitCount(value), buffer, length);
+    }
+
+    public static int format(double value, char[] buffer) {
+        if (value == 0) {
+            int length = 0;
+            if (Double.doubleToRawLongBits(value) != 0) {
+                buffer[length++] = '-';
+            }
+            buffer[length++] = '0';
+            return length;
+        }
+
+        double magnitude = Math.abs(value);
+        int exponent = (int) Math.floor(Math.log10(magnitude));
+        if (exponent < -22 || exponent > MAX_FAST_DIGITS) {
+            return -1;
+        }
+        if (exponent >= 0 && magnitude < POWERS_OF_TEN[exponent]) {
+            exponent--;
+        } else if (exponent >= 0 && magnitude >= POWERS_OF_TEN[exponent + 1]) {
+            exponent++;
+        }
+
+        for (int digits = 1; digits <= MAX_FAST_DIGITS; digits++) {
+            int scale = exponent - digits + 1;
+            if (scale < -22) {
+                return -1;
+            }
+            double scaled = scale >= 0 ? magnitude / POWERS_OF_TEN[scale] : magnitude * POWERS_OF_TEN[-scale];
+            long significand = Math.round(scaled);
+            if (significand < (long) POWERS_OF_TEN[digits - 1] || significand >= (long) POWERS_OF_TEN[digits]) {
+                continue;
+            }
+            double exact = scale >= 0 ? significand * POWERS_OF_TEN[scale] : significand / POWERS_OF_TEN[-scale];
+            if (exact == magnitude) {
+                return writeDecimal(value < 0, significand, digits, exponent, buffer);
+            }
+        }
+        return -1;
+    }
+
+    private static int writeDecimal(boolean negative, long significand, int digits, int exponent, char[] buffer) {
+        int length = 0;
+        if (negative) {
+            buffer[length++] = '-';
+        }
+        if (exponent < -3 || exponent >= 7) {
+            long leading = significand / (long) POWERS_OF_TEN[digits - 1];
+            buffer[length++] = (char) ('0' + leading);
+            buffer[length++] = '.';
+            if (digits == 1) {
+                buffer[length++] = '0';
+            } else {
+                length = writeDigits(significand - leading * (long) POWERS_OF_TEN[digits - 1], digits - 1, buffer, length);
+            }
+            buffer[length++] = 'E';
+            if (exponent < 0) {
+                buffer[length++] = '-';
+            }
+            int power = Math.abs(exponent);
+            return writeDigits(power, digitCount(power), buffer, length);
+        }
+
+        if (exponent < 0) {
+            buffer[length++] = '0';
+            buffer[length++] = '.';
+            for (int i = -1; i > exponent; i--) {
+                buffer[length++] = '0';
+            }
+            return writeDigits(significand, digits, buffer, length);
+        }
+
+        int integerDigits = exponent + 1;
+        if (digits <= integerDigits) {
+            length = writeDigits(significand, digits, buffer, length);
+            for (int i = digits; i < integerDigits; i++) {
+                buffer[length++] = '0';
+            }
+            return length;
+        }
+        long fractionScale = (long) POWERS_OF_TEN[digits - integerDigits];
+        length = writeDigits(significand / fractionScale, integerDigits, buffer, length);
+        buffer[length++] = '.';
+        return writeDigits(significand % fractionScale, digits - integerDigits, buffer, length);
+    }
+
+    private static int writeDigits(long value, int count, char[] buffer, int offset) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + count;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (count < 19 && value >= (long) POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Object exact(long value) {
+        if (value > MAX_EXACT || value < -MAX_EXACT) {
+            return (double) value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,29 @@
+package katana.interpreter;
+
+public abstract class Output {
+    private final char[] number = new char[Numbers.MAX_FORMATTED_LENGTH];
+
+    public abstract void write(char[] chars, int offset, int length);
+
+    public abstract void write(String text);
+
+    public abstract void endLine();
+
+    public abstract void flush();
+
+    public void println(Object value) {
+        int length = -1;
+        if (value instanceof Long integer) {
+            length = Numbers.format(integer, number);
+        } else if (value instanceof Double real) {
+            length = Numbers.format(real, number);
+        }
+
+        if (length >= 0) {
+            write(number, 0, length);
+        } else {
+            write(Values.stringify(value));
+        }
+        endLine();
+    }
+}
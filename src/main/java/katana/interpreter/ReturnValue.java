@@ -1,9 +0,0 @@
-package katana.interpreter;
-
-public class ReturnValue extends RuntimeException {
-    public final Object value;
-
-    public ReturnValue(Object value) {
-        this.value = value;
-    }
-}
@@ -0,0 +1,49 @@
+package katana.interpreter;
+
+import java.util.ArrayDeque;
+
+final class Rope {
+    private final int length;
+    private Object left;
+    private Object right;
+    private String flat;
+
+    Rope(Object left, Object right, int length) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+    }
+
+    int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        if (flat == null) {
+            flat = flatten();
+            left = null;
+            right = null;
+        }
+        return flat;
+    }
+
+    private String flatten() {
+        char[] chars = new char[length];
+        int position = 0;
+        ArrayDeque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            Object piece = pending.pop();
+            if (piece instanceof Rope rope && rope.flat == null) {
+                pending.push(rope.right);
+                pending.push(rope.left);
+                continue;
+            }
+            String string = piece.toString();
+            string.getChars(0, string.length(), chars, position);
+            position += string.length();
+        }
+        return new String(chars);
+    }
+}
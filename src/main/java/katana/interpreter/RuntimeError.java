@@ -2,12 +2,18 @@ package katana.interpreter;
 
 import katana.model.token.Token;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class RuntimeError extends RuntimeException {
     public final Token token;
+    private final List<String> callStack = new ArrayList<>();
+    private int line;
 
     public RuntimeError(Token token, String message) {
-        super(message);
+        super(message, null, false, false);
         this.token = token;
+        this.line = token == null ? 0 : token.line;
     }
 
     public int getLine() {
@@ -17,4 +23,16 @@ public class RuntimeError extends RuntimeException {
     public int getPosition() {
         return token.position;
     }
+
+    public void calledFrom(Token call) {
+        line = call.line;
+    }
+
+    public void unwind(String function) {
+        callStack.add(function + " [line " + line + "]");
+    }
+
+    public List<String> getCallStack() {
+        return callStack;
+    }
 }
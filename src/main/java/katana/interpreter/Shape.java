@@ -0,0 +1,61 @@
+package katana.interpreter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Shape {
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    private static final String[] NO_FIELDS = new String[0];
+
+    private final String[] fields;
+    private final Map<String, Integer> index;
+    private Map<String, Shape> transitions;
+
+    private Shape(String[] fields) {
+        this.fields = fields;
+        if (fields.length > LINEAR_SEARCH_LIMIT) {
+            index = new HashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                index.put(fields[i], i);
+            }
+        } else {
+            index = null;
+        }
+    }
+
+    public static Shape root() {
+        return new Shape(NO_FIELDS);
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    public int indexOf(String name) {
+        if (index != null) {
+            Integer slot = index.get(name);
+            return slot == null ? -1 : slot;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Shape withField(String name) {
+        if (transitions == null) {
+            transitions = new HashMap<>();
+        }
+        Shape next = transitions.get(name);
+        if (next == null) {
+            String[] extended = new String[fields.length + 1];
+            System.arraycopy(fields, 0, extended, 0, fields.length);
+            extended[fields.length] = name;
+            next = new Shape(extended);
+            transitions.put(name, next);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,93 @@
+package katana.interpreter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+public class StreamOutput extends Output {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    public enum Flush {
+        EVERY_LINE, WHEN_FULL
+    }
+
+    private final Writer writer;
+    private final Flush policy;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int count = 0;
+
+    public StreamOutput(OutputStream stream, Flush policy) {
+        this(new OutputStreamWriter(stream, Charset.defaultCharset()), policy);
+    }
+
+    public StreamOutput(Writer writer, Flush policy) {
+        this.writer = writer;
+        this.policy = policy;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        if (length > buffer.length - count) {
+            drain();
+            if (length > buffer.length) {
+                writeThrough(chars, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(chars, offset, buffer, count, length);
+        count += length;
+    }
+
+    @Override
+    public void write(String text) {
+        int offset = 0;
+        int remaining = text.length();
+        while (remaining > 0) {
+            if (count == buffer.length) {
+                drain();
+            }
+            int chunk = Math.min(remaining, buffer.length - count);
+            text.getChars(offset, offset + chunk, buffer, count);
+            count += chunk;
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    @Override
+    public void endLine() {
+        write(LINE_SEPARATOR);
+        if (policy == Flush.EVERY_LINE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() {
+        if (count > 0) {
+            writeThrough(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeThrough(char[] chars, int offset, int length) {
+        try {
+            writer.write(chars, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
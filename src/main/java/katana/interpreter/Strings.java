@@ -0,0 +1,27 @@
+package katana.interpreter;
+
+public final class Strings {
+    private static final int FLAT_LIMIT = 64;
+
+    private Strings() {
+    }
+
+    public static boolean isString(Object value) {
+        return value instanceof String || value instanceof Rope;
+    }
+
+    public static Object concat(Object left, Object right) {
+        int length = length(left) + length(right);
+        if (length <= FLAT_LIMIT) {
+            return left.toString() + right;
+        }
+        return new Rope(left, right, length);
+    }
+
+    static int length(Object string) {
+        if (string instanceof Rope rope) {
+            return rope.length();
+        }
+        return ((String) string).length();
+    }
+}
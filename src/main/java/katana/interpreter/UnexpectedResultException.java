@@ -0,0 +1,10 @@
+package katana.interpreter;
+
+public class UnexpectedResultException extends Exception {
+    public final Object result;
+
+    public UnexpectedResultException(Object result) {
+        super(null, null, false, false);
+        this.result = result;
+    }
+}
@@ -0,0 +1,62 @@
+package katana.interpreter;
+
+public final class Values {
+
+    private Values() {
+    }
+
+    public static boolean isTruthy(Object object) {
+        if (object == null) {
+            return false;
+        }
+        if (object instanceof Boolean) {
+            return (boolean) object;
+        }
+        return true;
+    }
+
+    public static boolean isEqual(Object a, Object b) {
+        if (a == null && b == null) {
+            return true;
+        }
+        if (a == null) {
+            return false;
+        }
+        if ((a instanceof Long || b instanceof Long) && Numbers.isNumber(a) && Numbers.isNumber(b)) {
+            return Numbers.isEqual(a, b);
+        }
+        if ((a instanceof Rope || b instanceof Rope) && Strings.isString(a) && Strings.isString(b)) {
+            return a.toString().equals(b.toString());
+        }
+
+        return a.equals(b);
+    }
+
+    public static String stringify(Object object) {
+        if (object == null) {
+            return "null";
+        }
+
+        if (object instanceof Double) {
+            return doubleStringify((Double) object);
+        }
+        if (object instanceof Long) {
+            return Numbers.stringify((Long) object);
+        }
+
+        return object.toString();
+    }
+
+    private static String doubleStringify(Double obj) {
+        char[] buffer = new char[Numbers.MAX_FORMATTED_LENGTH];
+        int length = Numbers.format(obj, buffer);
+        if (length >= 0) {
+            return new String(buffer, 0, length);
+        }
+        String text = obj.toString();
+        if (text.endsWith(".0")) {
+            text = text.substring(0, text.length() - 2);
+        }
+        return text;
+    }
+}
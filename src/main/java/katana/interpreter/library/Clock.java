@@ -3,8 +3,6 @@ package katana.interpreter.library;
 import katana.interpreter.Interpreter;
 import katana.interpreter.KatanaCallable;
 
-import java.util.List;
-
 public class Clock implements KatanaCallable {
 
     @Override
@@ -13,7 +11,7 @@ public class Clock implements KatanaCallable {
     }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> arguments) {
+    public Object call(Interpreter interpreter, Object[] arguments) {
         return (double) System.currentTimeMillis() / 1000.0;
     }
 
@@ -0,0 +1,41 @@
+package katana.interpreter.library;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaCallable;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+import java.util.function.Predicate;
+
+public class Memo implements KatanaCallable {
+    private final Predicate<Object> isCallable;
+
+    public Memo(Predicate<Object> isCallable) {
+        this.isCallable = isCallable;
+    }
+
+    @Override
+    public int arity() {
+        return 2;
+    }
+
+    @Override
+    public Object call(Interpreter interpreter, Object[] arguments) {
+        if (!isCallable.test(arguments[0])) {
+            throw new RuntimeError(callSite(interpreter), "memo() expects a function.");
+        }
+        if (!(arguments[1] instanceof Long capacity) || capacity < 1) {
+            throw new RuntimeError(callSite(interpreter), "memo() expects a positive whole number of entries.");
+        }
+        return new MemoizedFunction(arguments[0], (int) Math.min(capacity, Integer.MAX_VALUE));
+    }
+
+    static Token callSite(Interpreter interpreter) {
+        return interpreter == null ? null : interpreter.callSite();
+    }
+
+    @Override
+    public String toString() {
+        return "<native fn memo>";
+    }
+}
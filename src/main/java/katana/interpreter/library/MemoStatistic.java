@@ -0,0 +1,41 @@
+package katana.interpreter.library;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaCallable;
+import katana.interpreter.RuntimeError;
+
+public class MemoStatistic implements KatanaCallable {
+    public enum Counter {
+        HITS, MISSES, EVICTIONS
+    }
+
+    private final String name;
+    private final Counter counter;
+
+    public MemoStatistic(String name, Counter counter) {
+        this.name = name;
+        this.counter = counter;
+    }
+
+    @Override
+    public int arity() {
+        return 1;
+    }
+
+    @Override
+    public Object call(Interpreter interpreter, Object[] arguments) {
+        if (!(arguments[0] instanceof MemoizedFunction memo)) {
+            throw new RuntimeError(Memo.callSite(interpreter), name + "() expects a function returned by memo().");
+        }
+        return switch (counter) {
+            case HITS -> memo.hits();
+            case MISSES -> memo.misses();
+            case EVICTIONS -> memo.evictions();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "<native fn " + name + ">";
+    }
+}
@@ -0,0 +1,125 @@
+package katana.interpreter.library;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaCallable;
+import katana.interpreter.Numbers;
+import katana.interpreter.Strings;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class MemoizedFunction implements KatanaCallable {
+    public static final Object MISSING = new Object();
+    private static final Object NO_ARGUMENTS = new Object();
+    private static final Object NULL = new Object();
+
+    public final Object function;
+    private final int capacity;
+    private final Map<Object, Object> entries;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    MemoizedFunction(Object function, int capacity) {
+        this.function = function;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > MemoizedFunction.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static Object key(Object[] arguments, int from, int count) {
+        if (count == 0) {
+            return NO_ARGUMENTS;
+        }
+        if (count == 1) {
+            return keyOf(arguments[from]);
+        }
+
+        Object[] parts = new Object[count];
+        for (int i = 0; i < count; i++) {
+            parts[i] = keyOf(arguments[from + i]);
+            if (parts[i] == null) {
+                return null;
+            }
+        }
+        return Arrays.asList(parts);
+    }
+
+    private static Object keyOf(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Double number) {
+            return Numbers.box(number);
+        }
+        if (Strings.isString(value)) {
+            return value.toString();
+        }
+        if (value instanceof Long || value instanceof Boolean) {
+            return value;
+        }
+        return null;
+    }
+
+    public Object lookup(Object key) {
+        Object value = entries.get(key);
+        if (value == null) {
+            misses++;
+            return MISSING;
+        }
+        hits++;
+        return value == NULL ? null : value;
+    }
+
+    public void store(Object key, Object value) {
+        entries.put(key, value == null ? NULL : value);
+    }
+
+    @Override
+    public int arity() {
+        return ((KatanaCallable) function).arity();
+    }
+
+    @Override
+    public Object call(Interpreter interpreter, Object[] arguments) {
+        KatanaCallable callable = (KatanaCallable) function;
+        Object key = key(arguments, 0, arguments.length);
+        if (key == null) {
+            return callable.call(interpreter, arguments);
+        }
+
+        Object cached = lookup(key);
+        if (cached != MISSING) {
+            return cached;
+        }
+        Object value = callable.call(interpreter, arguments);
+        store(key, value);
+        return value;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+
+    long evictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "<memo " + function + ">";
+    }
+}
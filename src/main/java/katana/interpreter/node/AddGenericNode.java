@@ -0,0 +1,16 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.model.token.Token;
+
+class AddGenericNode extends BinaryNode {
+
+    AddGenericNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return AddNode.add(operator, left.execute(interpreter), right.execute(interpreter));
+    }
+}
@@ -0,0 +1,38 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.RuntimeError;
+import katana.interpreter.Strings;
+import katana.model.token.Token;
+
+class AddNode extends BinaryNode {
+
+    AddNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        Object leftValue = left.execute(interpreter);
+        Object rightValue = right.execute(interpreter);
+        if (Numbers.isNumber(leftValue) && Numbers.isNumber(rightValue)) {
+            replace(new AddNumberNode(left, right, operator));
+        } else if (Strings.isString(leftValue) && Strings.isString(rightValue)) {
+            replace(new AddStringNode(left, right, operator));
+        } else {
+            replace(new AddGenericNode(left, right, operator));
+        }
+        return add(operator, leftValue, rightValue);
+    }
+
+    static Object add(Token operator, Object left, Object right) {
+        if (Numbers.isNumber(left) && Numbers.isNumber(right)) {
+            return Numbers.add(left, right);
+        }
+        if (Strings.isString(left) && Strings.isString(right)) {
+            return Strings.concat(left, right);
+        }
+        throw new RuntimeError(operator, "Operand must be two numbers or two strings.");
+    }
+}
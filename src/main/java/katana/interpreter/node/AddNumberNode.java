@@ -0,0 +1,44 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.token.Token;
+
+class AddNumberNode extends BinaryNode {
+
+    AddNumberNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        try {
+            return Numbers.box(executeDouble(interpreter));
+        } catch (UnexpectedResultException e) {
+            return e.result;
+        }
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) throws UnexpectedResultException {
+        double leftValue;
+        try {
+            leftValue = left.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            return generalize(e.result, right.execute(interpreter));
+        }
+        double rightValue;
+        try {
+            rightValue = right.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            return generalize(leftValue, e.result);
+        }
+        return leftValue + rightValue;
+    }
+
+    private double generalize(Object leftValue, Object rightValue) throws UnexpectedResultException {
+        deoptimize(new AddGenericNode(left, right, operator));
+        throw new UnexpectedResultException(AddNode.add(operator, leftValue, rightValue));
+    }
+}
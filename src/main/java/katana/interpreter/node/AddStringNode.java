@@ -0,0 +1,23 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Strings;
+import katana.model.token.Token;
+
+class AddStringNode extends BinaryNode {
+
+    AddStringNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        Object leftValue = left.execute(interpreter);
+        Object rightValue = right.execute(interpreter);
+        if (Strings.isString(leftValue) && Strings.isString(rightValue)) {
+            return Strings.concat(leftValue, rightValue);
+        }
+        deoptimize(new AddGenericNode(left, right, operator));
+        return AddNode.add(operator, leftValue, rightValue);
+    }
+}
@@ -0,0 +1,38 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.token.Token;
+
+abstract class ArithmeticNode extends BinaryNode {
+
+    ArithmeticNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    abstract double apply(double left, double right);
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return Numbers.box(executeDouble(interpreter));
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) {
+        double leftValue;
+        try {
+            leftValue = left.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            right.execute(interpreter);
+            throw operandsError();
+        }
+        double rightValue;
+        try {
+            rightValue = right.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            throw operandsError();
+        }
+        return apply(leftValue, rightValue);
+    }
+}
@@ -0,0 +1,29 @@
+package katana.interpreter.node;
+
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+abstract class BinaryNode extends ExpressionNode {
+    ExpressionNode left;
+    ExpressionNode right;
+    final Token operator;
+
+    BinaryNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.operator = operator;
+    }
+
+    RuntimeError operandsError() {
+        return new RuntimeError(operator, "Operands must be numbers");
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == left) {
+            left = (ExpressionNode) replacement;
+        } else {
+            right = (ExpressionNode) replacement;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Environment;
+import katana.interpreter.Interpreter;
+
+public class BlockNode extends StatementNode {
+    private final StatementNode[] statements;
+    private final int slotCount;
+
+    BlockNode(StatementNode[] statements, int slotCount) {
+        this.statements = statements;
+        this.slotCount = slotCount;
+        for (StatementNode statement : statements) {
+            adopt(statement);
+        }
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        if (slotCount == 0) {
+            executeStatements(interpreter);
+            return;
+        }
+
+        Environment previous = interpreter.environment();
+        try {
+            interpreter.setEnvironment(new Environment(previous, slotCount));
+            executeStatements(interpreter);
+        } finally {
+            interpreter.setEnvironment(previous);
+        }
+    }
+
+    private void executeStatements(Interpreter interpreter) {
+        for (StatementNode statement : statements) {
+            statement.execute(interpreter);
+            if (interpreter.isReturning()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+import katana.interpreter.Values;
+
+class BooleanConditionNode extends ConditionNode {
+
+    BooleanConditionNode(ExpressionNode expression) {
+        super(expression);
+    }
+
+    @Override
+    boolean test(Interpreter interpreter) {
+        try {
+            return expression.executeBoolean(interpreter);
+        } catch (UnexpectedResultException e) {
+            deoptimize(new TruthyConditionNode(expression));
+            return Values.isTruthy(e.result);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package katana.interpreter.node;
+
+import katana.interpreter.GlobalVariable;
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaCallable;
+import katana.interpreter.KatanaFunction;
+import katana.interpreter.KatanaInstance;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+class CallNode extends InvocationNode {
+    private ExpressionNode callee;
+    private final ExpressionNode[] arguments;
+    private final Token paren;
+    private final GlobalVariable linkable;
+    private KatanaCallable linked;
+
+    CallNode(ExpressionNode callee, ExpressionNode[] arguments, Token paren, GlobalVariable linkable) {
+        this.callee = adopt(callee);
+        this.arguments = arguments;
+        for (ExpressionNode argument : arguments) {
+            adopt(argument);
+        }
+        this.paren = paren;
+        this.linkable = linkable;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        KatanaCallable linked = this.linked;
+        if (linked != null && linked == linkable.get(paren)) {
+            return call(interpreter, linked, arguments, paren, true);
+        }
+
+        Object function = callee.execute(interpreter);
+        Object result = call(interpreter, function, arguments, paren, false);
+        if (linkable != null && !linkable.isReassigned()) {
+            this.linked = (KatanaCallable) function;
+        }
+        return result;
+    }
+
+    @Override
+    void tailCall(Interpreter interpreter) {
+        KatanaCallable linked = this.linked;
+        if (linked != null && linked == linkable.get(paren)) {
+            interpreter.tailCall(linked, evaluateArguments(interpreter, arguments), paren);
+            return;
+        }
+
+        Object function = callee.execute(interpreter);
+        Object[] values = evaluateArguments(interpreter, arguments);
+        KatanaCallable callable = checkCallable(function, values.length, paren, false);
+        if (linkable != null && !linkable.isReassigned()) {
+            this.linked = callable;
+        }
+        interpreter.tailCall(callable, values, paren);
+    }
+
+    static Object call(Interpreter interpreter, Object function, ExpressionNode[] arguments, Token paren, boolean checked) {
+        switch (arguments.length) {
+            case 0 -> {
+                KatanaCallable callable = checkCallable(function, 0, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call0(interpreter);
+            }
+            case 1 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                KatanaCallable callable = checkCallable(function, 1, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call1(interpreter, a0);
+            }
+            case 2 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                KatanaCallable callable = checkCallable(function, 2, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call2(interpreter, a0, a1);
+            }
+            case 3 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                Object a2 = arguments[2].execute(interpreter);
+                KatanaCallable callable = checkCallable(function, 3, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call3(interpreter, a0, a1, a2);
+            }
+            case 4 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                Object a2 = arguments[2].execute(interpreter);
+                Object a3 = arguments[3].execute(interpreter);
+                KatanaCallable callable = checkCallable(function, 4, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call4(interpreter, a0, a1, a2, a3);
+            }
+            default -> {
+                Object[] values = evaluateArguments(interpreter, arguments);
+                KatanaCallable callable = checkCallable(function, values.length, paren, checked);
+                interpreter.setCallSite(paren);
+                return callable.call(interpreter, values);
+            }
+        }
+    }
+
+    static Object invoke(Interpreter interpreter, KatanaFunction method, KatanaInstance receiver, ExpressionNode[] arguments, Token paren) {
+        switch (arguments.length) {
+            case 0 -> {
+                checkArity(method, 0, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke0(interpreter, receiver);
+            }
+            case 1 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                checkArity(method, 1, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke1(interpreter, receiver, a0);
+            }
+            case 2 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                checkArity(method, 2, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke2(interpreter, receiver, a0, a1);
+            }
+            case 3 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                Object a2 = arguments[2].execute(interpreter);
+                checkArity(method, 3, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke3(interpreter, receiver, a0, a1, a2);
+            }
+            case 4 -> {
+                Object a0 = arguments[0].execute(interpreter);
+                Object a1 = arguments[1].execute(interpreter);
+                Object a2 = arguments[2].execute(interpreter);
+                Object a3 = arguments[3].execute(interpreter);
+                checkArity(method, 4, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke4(interpreter, receiver, a0, a1, a2, a3);
+            }
+            default -> {
+                Object[] values = evaluateArguments(interpreter, arguments);
+                checkArity(method, values.length, paren);
+                interpreter.setCallSite(paren);
+                return method.invoke(interpreter, receiver, values);
+            }
+        }
+    }
+
+    static KatanaCallable checkCallable(Object function, int count, Token paren, boolean checked) {
+        if (checked) {
+            return (KatanaCallable) function;
+        }
+        if (!(function instanceof KatanaCallable callable)) {
+            throw new RuntimeError(paren, "Can only call functions and classes.");
+        }
+        checkArity(callable, count, paren);
+        return callable;
+    }
+
+    static void checkArity(KatanaCallable callable, int count, Token paren) {
+        if (count != callable.arity()) {
+            throw new RuntimeError(paren, "Expected " + callable.arity() + " arguments but got " + count + ".");
+        }
+    }
+
+    static Object[] evaluateArguments(Interpreter interpreter, ExpressionNode[] arguments) {
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = arguments[i].execute(interpreter);
+        }
+        return values;
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == callee) {
+            callee = (ExpressionNode) replacement;
+            return;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == child) {
+                arguments[i] = (ExpressionNode) replacement;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Environment;
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaClass;
+import katana.interpreter.KatanaFunction;
+import katana.interpreter.RuntimeError;
+import katana.model.stmt.ClassStatement;
+import katana.model.stmt.FunctionStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class ClassNode extends StatementNode {
+    private final ClassStatement declaration;
+    private final ExpressionNode superClass;
+
+    ClassNode(ClassStatement declaration, ExpressionNode superClass) {
+        this.declaration = declaration;
+        this.superClass = adopt(superClass);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        KatanaClass inherited = evaluateSuperClass(interpreter);
+
+        interpreter.define(declaration, declaration.name, null);
+
+        Environment environment = interpreter.environment();
+        if (inherited != null) {
+            environment = new Environment(environment, 1);
+            environment.define(0, inherited);
+        }
+
+        Map<String, KatanaFunction> methods = new HashMap<>();
+        for (FunctionStatement method : declaration.methods) {
+            KatanaFunction function = new KatanaFunction(method, environment, method.name.rawText.equals("constructor"));
+            methods.put(method.name.rawText, function);
+        }
+
+        interpreter.define(declaration, declaration.name, new KatanaClass(declaration.name.rawText, inherited, methods));
+    }
+
+    private KatanaClass evaluateSuperClass(Interpreter interpreter) {
+        if (superClass == null) {
+            return null;
+        }
+        if (!(superClass.execute(interpreter) instanceof KatanaClass klass)) {
+            throw new RuntimeError(declaration.superClass.name, "Superclass must be a class.");
+        }
+        return klass;
+    }
+}
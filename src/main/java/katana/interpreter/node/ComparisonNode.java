@@ -0,0 +1,37 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.token.Token;
+
+abstract class ComparisonNode extends BinaryNode {
+
+    ComparisonNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    abstract boolean compare(double left, double right);
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return executeBoolean(interpreter);
+    }
+
+    @Override
+    public boolean executeBoolean(Interpreter interpreter) {
+        double leftValue;
+        try {
+            leftValue = left.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            right.execute(interpreter);
+            throw operandsError();
+        }
+        double rightValue;
+        try {
+            rightValue = right.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            throw operandsError();
+        }
+        return compare(leftValue, rightValue);
+    }
+}
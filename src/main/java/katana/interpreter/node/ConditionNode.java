@@ -0,0 +1,18 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+abstract class ConditionNode extends Node {
+    ExpressionNode expression;
+
+    ConditionNode(ExpressionNode expression) {
+        this.expression = adopt(expression);
+    }
+
+    abstract boolean test(Interpreter interpreter);
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        expression = (ExpressionNode) replacement;
+    }
+}
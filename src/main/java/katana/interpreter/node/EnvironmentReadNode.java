@@ -0,0 +1,18 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class EnvironmentReadNode extends ExpressionNode {
+    private final int depth;
+    private final int slot;
+
+    EnvironmentReadNode(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return interpreter.environment().getAt(depth, slot);
+    }
+}
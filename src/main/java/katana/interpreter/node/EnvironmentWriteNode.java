@@ -0,0 +1,19 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class EnvironmentWriteNode extends WriteNode {
+    private final int depth;
+    private final int slot;
+
+    EnvironmentWriteNode(int depth, int slot, ExpressionNode value) {
+        super(value);
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    @Override
+    void write(Interpreter interpreter, Object result) {
+        interpreter.environment().assignAt(depth, slot, result);
+    }
+}
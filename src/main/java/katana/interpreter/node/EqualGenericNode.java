@@ -0,0 +1,24 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Values;
+import katana.model.token.Token;
+
+class EqualGenericNode extends BinaryNode {
+    private final boolean negated;
+
+    EqualGenericNode(ExpressionNode left, ExpressionNode right, Token operator, boolean negated) {
+        super(left, right, operator);
+        this.negated = negated;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return executeBoolean(interpreter);
+    }
+
+    @Override
+    public boolean executeBoolean(Interpreter interpreter) {
+        return Values.isEqual(left.execute(interpreter), right.execute(interpreter)) != negated;
+    }
+}
@@ -0,0 +1,27 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.Values;
+import katana.model.token.Token;
+
+class EqualNode extends BinaryNode {
+    private final boolean negated;
+
+    EqualNode(ExpressionNode left, ExpressionNode right, Token operator, boolean negated) {
+        super(left, right, operator);
+        this.negated = negated;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        Object leftValue = left.execute(interpreter);
+        Object rightValue = right.execute(interpreter);
+        if (Numbers.isNumber(leftValue) && Numbers.isNumber(rightValue)) {
+            replace(new EqualNumberNode(left, right, operator, negated));
+        } else {
+            replace(new EqualGenericNode(left, right, operator, negated));
+        }
+        return Values.isEqual(leftValue, rightValue) != negated;
+    }
+}
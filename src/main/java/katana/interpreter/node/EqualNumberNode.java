@@ -0,0 +1,42 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+import katana.interpreter.Values;
+import katana.model.token.Token;
+
+class EqualNumberNode extends BinaryNode {
+    private final boolean negated;
+
+    EqualNumberNode(ExpressionNode left, ExpressionNode right, Token operator, boolean negated) {
+        super(left, right, operator);
+        this.negated = negated;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return executeBoolean(interpreter);
+    }
+
+    @Override
+    public boolean executeBoolean(Interpreter interpreter) {
+        double leftValue;
+        try {
+            leftValue = left.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            return generalize(e.result, right.execute(interpreter));
+        }
+        double rightValue;
+        try {
+            rightValue = right.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            return generalize(leftValue, e.result);
+        }
+        return (Double.doubleToLongBits(leftValue) == Double.doubleToLongBits(rightValue)) != negated;
+    }
+
+    private boolean generalize(Object leftValue, Object rightValue) {
+        deoptimize(new EqualGenericNode(left, right, operator, negated));
+        return Values.isEqual(leftValue, rightValue) != negated;
+    }
+}
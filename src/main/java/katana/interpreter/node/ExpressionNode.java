@@ -0,0 +1,29 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+
+public abstract class ExpressionNode extends Node {
+
+    public abstract Object execute(Interpreter interpreter);
+
+    public void executeVoid(Interpreter interpreter) {
+        execute(interpreter);
+    }
+
+    public double executeDouble(Interpreter interpreter) throws UnexpectedResultException {
+        Object value = execute(interpreter);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        throw new UnexpectedResultException(value);
+    }
+
+    public boolean executeBoolean(Interpreter interpreter) throws UnexpectedResultException {
+        Object value = execute(interpreter);
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw new UnexpectedResultException(value);
+    }
+}
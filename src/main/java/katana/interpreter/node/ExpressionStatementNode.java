@@ -0,0 +1,21 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class ExpressionStatementNode extends StatementNode {
+    private ExpressionNode expression;
+
+    ExpressionStatementNode(ExpressionNode expression) {
+        this.expression = adopt(expression);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        expression.executeVoid(interpreter);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        expression = (ExpressionNode) replacement;
+    }
+}
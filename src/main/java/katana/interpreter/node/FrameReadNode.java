@@ -0,0 +1,22 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+
+class FrameReadNode extends ExpressionNode {
+    private final int slot;
+
+    FrameReadNode(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return interpreter.getLocal(slot);
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) throws UnexpectedResultException {
+        return interpreter.getLocalDouble(slot);
+    }
+}
@@ -0,0 +1,33 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.UnexpectedResultException;
+
+class FrameWriteNode extends WriteNode {
+    private final int slot;
+    private boolean numeric = true;
+
+    FrameWriteNode(int slot, ExpressionNode value) {
+        super(value);
+        this.slot = slot;
+    }
+
+    @Override
+    public void executeVoid(Interpreter interpreter) {
+        if (!numeric) {
+            interpreter.setLocal(slot, value.execute(interpreter));
+            return;
+        }
+        try {
+            interpreter.setLocalDouble(slot, value.executeDouble(interpreter));
+        } catch (UnexpectedResultException e) {
+            numeric = false;
+            interpreter.setLocal(slot, e.result);
+        }
+    }
+
+    @Override
+    void write(Interpreter interpreter, Object result) {
+        interpreter.setLocal(slot, result);
+    }
+}
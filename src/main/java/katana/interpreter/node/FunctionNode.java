@@ -0,0 +1,19 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaFunction;
+import katana.model.stmt.FunctionStatement;
+
+class FunctionNode extends StatementNode {
+    private final FunctionStatement declaration;
+
+    FunctionNode(FunctionStatement declaration) {
+        this.declaration = declaration;
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        KatanaFunction function = new KatanaFunction(declaration, interpreter.environment(), false);
+        interpreter.define(declaration, declaration.name, function);
+    }
+}
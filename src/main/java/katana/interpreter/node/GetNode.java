@@ -0,0 +1,32 @@
+package katana.interpreter.node;
+
+import katana.interpreter.InlineCache;
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaInstance;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+class GetNode extends ExpressionNode {
+    private ExpressionNode object;
+    private final Token name;
+    private final InlineCache cache;
+
+    GetNode(ExpressionNode object, Token name, InlineCache cache) {
+        this.object = adopt(object);
+        this.name = name;
+        this.cache = cache;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        if (object.execute(interpreter) instanceof KatanaInstance instance) {
+            return cache.get(instance, name);
+        }
+        throw new RuntimeError(name, "Only instances have properties.");
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        object = (ExpressionNode) replacement;
+    }
+}
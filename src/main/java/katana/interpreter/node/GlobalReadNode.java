@@ -0,0 +1,20 @@
+package katana.interpreter.node;
+
+import katana.interpreter.GlobalVariable;
+import katana.interpreter.Interpreter;
+import katana.model.token.Token;
+
+class GlobalReadNode extends ExpressionNode {
+    private final GlobalVariable global;
+    private final Token name;
+
+    GlobalReadNode(GlobalVariable global, Token name) {
+        this.global = global;
+        this.name = name;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return global.get(name);
+    }
+}
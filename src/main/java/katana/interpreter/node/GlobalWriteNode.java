@@ -0,0 +1,21 @@
+package katana.interpreter.node;
+
+import katana.interpreter.GlobalVariable;
+import katana.interpreter.Interpreter;
+import katana.model.token.Token;
+
+class GlobalWriteNode extends WriteNode {
+    private final GlobalVariable global;
+    private final Token name;
+
+    GlobalWriteNode(GlobalVariable global, Token name, ExpressionNode value) {
+        super(value);
+        this.global = global;
+        this.name = name;
+    }
+
+    @Override
+    void write(Interpreter interpreter, Object result) {
+        global.assign(name, result);
+    }
+}
@@ -0,0 +1,29 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class IfNode extends StatementNode {
+    private ConditionNode condition;
+    private final StatementNode thenBranch;
+    private final StatementNode elseBranch;
+
+    IfNode(ExpressionNode condition, StatementNode thenBranch, StatementNode elseBranch) {
+        this.condition = adopt(new BooleanConditionNode(condition));
+        this.thenBranch = adopt(thenBranch);
+        this.elseBranch = adopt(elseBranch);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        if (condition.test(interpreter)) {
+            thenBranch.execute(interpreter);
+        } else if (elseBranch != null) {
+            elseBranch.execute(interpreter);
+        }
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        condition = (ConditionNode) replacement;
+    }
+}
@@ -0,0 +1,75 @@
+package katana.interpreter.node;
+
+import katana.interpreter.GlobalVariable;
+import katana.interpreter.Interpreter;
+import katana.interpreter.RuntimeError;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.stmt.FunctionStatement;
+import katana.model.token.Token;
+
+class InlinedCallNode extends ExpressionNode {
+    private final GlobalVariable global;
+    private final FunctionStatement function;
+    private final WriteNode[] parameters;
+    private final CallNode call;
+    private final Token paren;
+    private ExpressionNode body;
+
+    InlinedCallNode(GlobalVariable global, FunctionStatement function, WriteNode[] parameters,
+                    ExpressionNode body, CallNode call, Token paren) {
+        this.global = global;
+        this.function = function;
+        this.parameters = parameters;
+        for (WriteNode parameter : parameters) {
+            adopt(parameter);
+        }
+        this.body = adopt(body);
+        this.call = adopt(call);
+        this.paren = paren;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        if (!global.holds(function)) {
+            return call.execute(interpreter);
+        }
+        bind(interpreter);
+        try {
+            return body.execute(interpreter);
+        } catch (RuntimeError error) {
+            throw unwind(error);
+        }
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) throws UnexpectedResultException {
+        if (!global.holds(function)) {
+            return call.executeDouble(interpreter);
+        }
+        bind(interpreter);
+        try {
+            return body.executeDouble(interpreter);
+        } catch (RuntimeError error) {
+            throw unwind(error);
+        }
+    }
+
+    private void bind(Interpreter interpreter) {
+        for (WriteNode parameter : parameters) {
+            parameter.executeVoid(interpreter);
+        }
+    }
+
+    private RuntimeError unwind(RuntimeError error) {
+        error.unwind(function.name.rawText);
+        error.calledFrom(paren);
+        return error;
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == body) {
+            body = (ExpressionNode) replacement;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+abstract class InvocationNode extends ExpressionNode {
+
+    abstract void tailCall(Interpreter interpreter);
+}
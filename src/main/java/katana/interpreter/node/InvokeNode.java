@@ -0,0 +1,73 @@
+package katana.interpreter.node;
+
+import katana.interpreter.InlineCache;
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaFunction;
+import katana.interpreter.KatanaInstance;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+class InvokeNode extends InvocationNode {
+    private ExpressionNode object;
+    private final Token name;
+    private final InlineCache cache;
+    private final ExpressionNode[] arguments;
+    private final Token paren;
+
+    InvokeNode(ExpressionNode object, Token name, InlineCache cache, ExpressionNode[] arguments, Token paren) {
+        this.object = adopt(object);
+        this.name = name;
+        this.cache = cache;
+        this.arguments = arguments;
+        for (ExpressionNode argument : arguments) {
+            adopt(argument);
+        }
+        this.paren = paren;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        KatanaInstance instance = instance(interpreter);
+        KatanaFunction method = cache.method(instance, name);
+        if (method == null) {
+            return CallNode.call(interpreter, cache.get(instance, name), arguments, paren, false);
+        }
+        return CallNode.invoke(interpreter, method, instance, arguments, paren);
+    }
+
+    @Override
+    void tailCall(Interpreter interpreter) {
+        KatanaInstance instance = instance(interpreter);
+        KatanaFunction method = cache.method(instance, name);
+        if (method == null) {
+            Object function = cache.get(instance, name);
+            Object[] values = CallNode.evaluateArguments(interpreter, arguments);
+            interpreter.tailCall(CallNode.checkCallable(function, values.length, paren, false), values, paren);
+            return;
+        }
+
+        Object[] values = CallNode.evaluateArguments(interpreter, arguments);
+        CallNode.checkArity(method, values.length, paren);
+        interpreter.tailInvoke(method, instance, values, paren);
+    }
+
+    private KatanaInstance instance(Interpreter interpreter) {
+        if (!(object.execute(interpreter) instanceof KatanaInstance instance)) {
+            throw new RuntimeError(name, "Only instances have properties.");
+        }
+        return instance;
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == object) {
+            object = (ExpressionNode) replacement;
+            return;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == child) {
+                arguments[i] = (ExpressionNode) replacement;
+            }
+        }
+    }
+}
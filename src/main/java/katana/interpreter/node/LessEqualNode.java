@@ -0,0 +1,15 @@
+package katana.interpreter.node;
+
+import katana.model.token.Token;
+
+class LessEqualNode extends ComparisonNode {
+
+    LessEqualNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    boolean compare(double left, double right) {
+        return left <= right;
+    }
+}
@@ -0,0 +1,16 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class LiteralNode extends ExpressionNode {
+    private final Object value;
+
+    LiteralNode(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return value;
+    }
+}
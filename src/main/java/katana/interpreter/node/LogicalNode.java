@@ -0,0 +1,34 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Values;
+
+class LogicalNode extends ExpressionNode {
+    private ExpressionNode left;
+    private ExpressionNode right;
+    private final boolean or;
+
+    LogicalNode(ExpressionNode left, ExpressionNode right, boolean or) {
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.or = or;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        Object leftValue = left.execute(interpreter);
+        if (Values.isTruthy(leftValue) == or) {
+            return leftValue;
+        }
+        return right.execute(interpreter);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == left) {
+            left = (ExpressionNode) replacement;
+        } else {
+            right = (ExpressionNode) replacement;
+        }
+    }
+}
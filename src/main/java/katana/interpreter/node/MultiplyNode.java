@@ -0,0 +1,15 @@
+package katana.interpreter.node;
+
+import katana.model.token.Token;
+
+class MultiplyNode extends ArithmeticNode {
+
+    MultiplyNode(ExpressionNode left, ExpressionNode right, Token operator) {
+        super(left, right, operator);
+    }
+
+    @Override
+    double apply(double left, double right) {
+        return left * right;
+    }
+}
@@ -0,0 +1,36 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.RuntimeError;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.token.Token;
+
+class NegateNode extends ExpressionNode {
+    private ExpressionNode right;
+    private final Token operator;
+
+    NegateNode(ExpressionNode right, Token operator) {
+        this.right = adopt(right);
+        this.operator = operator;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return Numbers.box(executeDouble(interpreter));
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) {
+        try {
+            return -right.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            throw new RuntimeError(operator, "Operand must be a number");
+        }
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        right = (ExpressionNode) replacement;
+    }
+}
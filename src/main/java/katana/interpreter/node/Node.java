@@ -0,0 +1,34 @@
+package katana.interpreter.node;
+
+public abstract class Node {
+    Node parent;
+
+    <T extends Node> T adopt(T child) {
+        if (child != null) {
+            child.parent = this;
+        }
+        return child;
+    }
+
+    <T extends Node> T replace(T replacement) {
+        parent.replaceChild(this, replacement);
+        replacement.parent = parent;
+        return replacement;
+    }
+
+    <T extends Node> T deoptimize(T replacement) {
+        replace(replacement);
+        Node root = replacement;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        if (root instanceof StatementNode statement) {
+            statement.deoptimizations++;
+        }
+        return replacement;
+    }
+
+    void replaceChild(Node child, Node replacement) {
+        throw new IllegalStateException("Node has no replaceable children.");
+    }
+}
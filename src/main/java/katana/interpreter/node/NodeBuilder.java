@@ -0,0 +1,238 @@
+package katana.interpreter.node;
+
+import katana.interpreter.GlobalVariable;
+import katana.model.Storage;
+import katana.model.ValueType;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+import katana.model.token.Token;
+import katana.model.token.TokenType;
+
+import java.util.List;
+
+public class NodeBuilder implements ExprVisitor<ExpressionNode>, StmtVisitor<StatementNode> {
+
+    public BlockNode build(List<Statement> statements) {
+        return new BlockNode(buildAll(statements), 0);
+    }
+
+    public WhileNode buildLoop(WhileStatement loop) {
+        return (WhileNode) build(loop);
+    }
+
+    public StatementNode buildBody(RangeStatement loop) {
+        return build(loop.body);
+    }
+
+    private StatementNode[] buildAll(List<Statement> statements) {
+        StatementNode[] nodes = new StatementNode[statements.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = build(statements.get(i));
+        }
+        return nodes;
+    }
+
+    private StatementNode build(Statement statement) {
+        return statement.accept(this);
+    }
+
+    private ExpressionNode build(Expression expression) {
+        return expression.accept(this);
+    }
+
+    private ExpressionNode read(ResolvableExpression expression, Token name) {
+        return switch (expression.storage) {
+            case FRAME -> new FrameReadNode(expression.slot);
+            case ENVIRONMENT -> new EnvironmentReadNode(expression.depth, expression.slot);
+            case GLOBAL -> new GlobalReadNode(expression.global, name);
+        };
+    }
+
+    @Override
+    public ExpressionNode visitAssignExpr(AssignExpression expr) {
+        ExpressionNode value = build(expr.value);
+        return switch (expr.storage) {
+            case FRAME -> new FrameWriteNode(expr.slot, value);
+            case ENVIRONMENT -> new EnvironmentWriteNode(expr.depth, expr.slot, value);
+            case GLOBAL -> new GlobalWriteNode(expr.global, expr.name, value);
+        };
+    }
+
+    @Override
+    public ExpressionNode visitBinaryExpr(BinaryExpression expr) {
+        ExpressionNode left = build(expr.left);
+        ExpressionNode right = build(expr.right);
+
+        return switch (expr.operator.type) {
+            case GREATER -> new GreaterNode(left, right, expr.operator);
+            case GREATER_EQUAL -> new GreaterEqualNode(left, right, expr.operator);
+            case LESS -> new LessNode(left, right, expr.operator);
+            case LESS_EQUAL -> new LessEqualNode(left, right, expr.operator);
+            case BANG_EQUAL -> numbers(expr)
+                    ? new EqualNumberNode(left, right, expr.operator, true)
+                    : new EqualNode(left, right, expr.operator, true);
+            case EQUAL_EQUAL -> numbers(expr)
+                    ? new EqualNumberNode(left, right, expr.operator, false)
+                    : new EqualNode(left, right, expr.operator, false);
+            case MINUS -> new SubtractNode(left, right, expr.operator);
+            case PLUS -> numbers(expr)
+                    ? new AddNumberNode(left, right, expr.operator)
+                    : new AddNode(left, right, expr.operator);
+            case SLASH -> new DivideNode(left, right, expr.operator);
+            case STAR -> new MultiplyNode(left, right, expr.operator);
+            default -> new LiteralNode(null);
+        };
+    }
+
+    private static boolean numbers(BinaryExpression expr) {
+        return expr.left.type == ValueType.NUMBER && expr.right.type == ValueType.NUMBER;
+    }
+
+    @Override
+    public ExpressionNode visitCallExpr(CallExpression expr) {
+        ExpressionNode[] arguments = new ExpressionNode[expr.arguments.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = build(expr.arguments.get(i));
+        }
+        if (expr.inlined != null) {
+            return inlined(expr, arguments);
+        }
+        if (expr.callee instanceof GetExpression get) {
+            return new InvokeNode(build(get.object), get.name, get.cache, arguments, expr.paren);
+        }
+        if (expr.callee instanceof SuperExpression superExpr) {
+            return new SuperInvokeNode(visitSuperExpr(superExpr), arguments, expr.paren);
+        }
+        ExpressionNode callee = build(expr.callee);
+
+        GlobalVariable linkable = null;
+        if (expr.callee instanceof VariableExpression variable && variable.isGlobal()) {
+            linkable = variable.global;
+        }
+        return new CallNode(callee, arguments, expr.paren, linkable);
+    }
+
+    private ExpressionNode inlined(CallExpression expr, ExpressionNode[] arguments) {
+        GlobalVariable global = ((VariableExpression) expr.callee).global;
+        WriteNode[] parameters = new WriteNode[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            parameters[i] = new FrameWriteNode(expr.inlinedSlots[i], arguments[i]);
+        }
+        ExpressionNode[] fallback = new ExpressionNode[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            fallback[i] = build(expr.arguments.get(i));
+        }
+        CallNode call = new CallNode(build(expr.callee), fallback, expr.paren, global);
+        return new InlinedCallNode(global, expr.inlined, parameters, build(expr.inlinedBody), call, expr.paren);
+    }
+
+    @Override
+    public ExpressionNode visitGetExpr(GetExpression expr) {
+        return new GetNode(build(expr.object), expr.name, expr.cache);
+    }
+
+    @Override
+    public ExpressionNode visitGroupingExpr(GroupingExpression expr) {
+        return build(expr.expression);
+    }
+
+    @Override
+    public ExpressionNode visitLiteralExpr(LiteralExpression expr) {
+        if (expr.value instanceof Number number) {
+            return new NumberLiteralNode(number);
+        }
+        return new LiteralNode(expr.value);
+    }
+
+    @Override
+    public ExpressionNode visitLogicalExpr(LogicalExpression expr) {
+        return new LogicalNode(build(expr.left), build(expr.right), expr.operator.type == TokenType.OR);
+    }
+
+    @Override
+    public ExpressionNode visitSetExpr(SetExpression expr) {
+        return new SetNode(build(expr.object), build(expr.value), expr.name, expr.cache);
+    }
+
+    @Override
+    public SuperNode visitSuperExpr(SuperExpression expr) {
+        return new SuperNode(expr.depth, expr.slot, expr.method, visitThisExpr(expr.receiver));
+    }
+
+    @Override
+    public ExpressionNode visitThisExpr(ThisExpression expr) {
+        return read(expr, expr.keyword);
+    }
+
+    @Override
+    public ExpressionNode visitUnaryExpr(UnaryExpression expr) {
+        ExpressionNode right = build(expr.right);
+        if (expr.operator.type == TokenType.MINUS) {
+            return new NegateNode(right, expr.operator);
+        }
+        return new NotNode(right);
+    }
+
+    @Override
+    public ExpressionNode visitVariableExpr(VariableExpression expr) {
+        return read(expr, expr.name);
+    }
+
+    @Override
+    public StatementNode visitBlockStmt(BlockStatement stmt) {
+        return new BlockNode(buildAll(stmt.statements), stmt.slotCount);
+    }
+
+    @Override
+    public StatementNode visitClassStmt(ClassStatement stmt) {
+        ExpressionNode superClass = stmt.superClass == null ? null : build(stmt.superClass);
+        return new ClassNode(stmt, superClass);
+    }
+
+    @Override
+    public StatementNode visitExpressionStmt(ExpressionStatement stmt) {
+        return new ExpressionStatementNode(build(stmt.expression));
+    }
+
+    @Override
+    public StatementNode visitFunctionStmt(FunctionStatement stmt) {
+        return new FunctionNode(stmt);
+    }
+
+    @Override
+    public StatementNode visitIfStmt(IfStatement stmt) {
+        StatementNode elseBranch = stmt.elseBranch == null ? null : build(stmt.elseBranch);
+        return new IfNode(build(stmt.condition), build(stmt.thenBranch), elseBranch);
+    }
+
+    @Override
+    public StatementNode visitPrintStmt(PrintStatement stmt) {
+        return new PrintNode(build(stmt.expression));
+    }
+
+    @Override
+    public StatementNode visitRangeStmt(RangeStatement stmt) {
+        return new RangeNode(stmt, build(stmt.start), build(stmt.end), build(stmt.step), build(stmt.body));
+    }
+
+    @Override
+    public StatementNode visitReturnStmt(ReturnStatement stmt) {
+        if (stmt.tailCall) {
+            return new TailCallNode((InvocationNode) build(stmt.value));
+        }
+        return new ReturnNode(stmt.value == null ? null : build(stmt.value));
+    }
+
+    @Override
+    public StatementNode visitVarStmt(VarStatement stmt) {
+        if (stmt.storage == Storage.FRAME && stmt.initializer != null) {
+            return new ExpressionStatementNode(new FrameWriteNode(stmt.slot, build(stmt.initializer)));
+        }
+        return new VarNode(stmt, stmt.initializer == null ? null : build(stmt.initializer));
+    }
+
+    @Override
+    public StatementNode visitWhileStmt(WhileStatement stmt) {
+        return new WhileNode(build(stmt.condition), build(stmt.body));
+    }
+}
@@ -0,0 +1,27 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Values;
+
+class NotNode extends ExpressionNode {
+    private ExpressionNode right;
+
+    NotNode(ExpressionNode right) {
+        this.right = adopt(right);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return executeBoolean(interpreter);
+    }
+
+    @Override
+    public boolean executeBoolean(Interpreter interpreter) {
+        return !Values.isTruthy(right.execute(interpreter));
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        right = (ExpressionNode) replacement;
+    }
+}
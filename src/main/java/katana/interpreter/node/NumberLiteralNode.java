@@ -0,0 +1,23 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class NumberLiteralNode extends ExpressionNode {
+    private final double value;
+    private final Number boxed;
+
+    NumberLiteralNode(Number value) {
+        this.value = value.doubleValue();
+        this.boxed = value;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return boxed;
+    }
+
+    @Override
+    public double executeDouble(Interpreter interpreter) {
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class PrintNode extends StatementNode {
+    private ExpressionNode expression;
+
+    PrintNode(ExpressionNode expression) {
+        this.expression = adopt(expression);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        interpreter.print(expression.execute(interpreter));
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        expression = (ExpressionNode) replacement;
+    }
+}
@@ -0,0 +1,91 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Environment;
+import katana.interpreter.Interpreter;
+import katana.interpreter.Numbers;
+import katana.interpreter.RuntimeError;
+import katana.interpreter.UnexpectedResultException;
+import katana.model.stmt.RangeStatement;
+import katana.model.token.Token;
+
+class RangeNode extends StatementNode {
+    private final Token operator;
+    private final int slot;
+    private final int slotCount;
+    private final boolean inclusive;
+    private final boolean fixedEnd;
+    private ExpressionNode start;
+    private ExpressionNode end;
+    private ExpressionNode step;
+    private final StatementNode body;
+
+    RangeNode(RangeStatement declaration, ExpressionNode start, ExpressionNode end, ExpressionNode step,
+              StatementNode body) {
+        this.operator = declaration.operator;
+        this.slot = declaration.slot;
+        this.slotCount = declaration.slotCount;
+        this.inclusive = declaration.inclusive;
+        this.fixedEnd = declaration.fixedEnd;
+        this.start = adopt(start);
+        this.end = adopt(end);
+        this.step = adopt(step);
+        this.body = adopt(body);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        double counter = bound(start, interpreter);
+        double limit = bound(end, interpreter);
+        double increment = bound(step, interpreter);
+        if (increment == 0) {
+            throw new RuntimeError(operator, "Range step can't be zero.");
+        }
+
+        while (Numbers.inRange(counter, limit, increment, inclusive)) {
+            if (slotCount == 0) {
+                interpreter.setLocalDouble(slot, counter);
+                body.execute(interpreter);
+            } else {
+                executeInEnvironment(interpreter, counter);
+            }
+            if (interpreter.isReturning()) {
+                return;
+            }
+            if (!fixedEnd) {
+                limit = bound(end, interpreter);
+            }
+            counter += increment;
+        }
+    }
+
+    private void executeInEnvironment(Interpreter interpreter, double counter) {
+        Environment previous = interpreter.environment();
+        try {
+            Environment environment = new Environment(previous, slotCount);
+            environment.define(slot, Numbers.box(counter));
+            interpreter.setEnvironment(environment);
+            body.execute(interpreter);
+        } finally {
+            interpreter.setEnvironment(previous);
+        }
+    }
+
+    private double bound(ExpressionNode node, Interpreter interpreter) {
+        try {
+            return node.executeDouble(interpreter);
+        } catch (UnexpectedResultException e) {
+            throw new RuntimeError(operator, "Operands must be numbers");
+        }
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == start) {
+            start = (ExpressionNode) replacement;
+        } else if (child == end) {
+            end = (ExpressionNode) replacement;
+        } else {
+            step = (ExpressionNode) replacement;
+        }
+    }
+}
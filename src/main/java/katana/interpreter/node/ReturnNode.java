@@ -0,0 +1,21 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class ReturnNode extends StatementNode {
+    private ExpressionNode value;
+
+    ReturnNode(ExpressionNode value) {
+        this.value = adopt(value);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        interpreter.returnWith(value == null ? null : value.execute(interpreter));
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        value = (ExpressionNode) replacement;
+    }
+}
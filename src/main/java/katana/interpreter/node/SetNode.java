@@ -0,0 +1,40 @@
+package katana.interpreter.node;
+
+import katana.interpreter.InlineCache;
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaInstance;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+class SetNode extends ExpressionNode {
+    private ExpressionNode object;
+    private ExpressionNode value;
+    private final Token name;
+    private final InlineCache cache;
+
+    SetNode(ExpressionNode object, ExpressionNode value, Token name, InlineCache cache) {
+        this.object = adopt(object);
+        this.value = adopt(value);
+        this.name = name;
+        this.cache = cache;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        if (!(object.execute(interpreter) instanceof KatanaInstance instance)) {
+            throw new RuntimeError(name, "Only instances have fields.");
+        }
+        Object result = value.execute(interpreter);
+        cache.set(instance, name, result);
+        return result;
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        if (child == object) {
+            object = (ExpressionNode) replacement;
+        } else {
+            value = (ExpressionNode) replacement;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+public abstract class StatementNode extends Node {
+    int deoptimizations = 0;
+
+    public abstract void execute(Interpreter interpreter);
+
+    public int deoptimizationCount() {
+        return deoptimizations;
+    }
+}
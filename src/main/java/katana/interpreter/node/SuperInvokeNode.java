@@ -0,0 +1,46 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaFunction;
+import katana.interpreter.KatanaInstance;
+import katana.model.token.Token;
+
+class SuperInvokeNode extends InvocationNode {
+    private final SuperNode callee;
+    private final ExpressionNode[] arguments;
+    private final Token paren;
+
+    SuperInvokeNode(SuperNode callee, ExpressionNode[] arguments, Token paren) {
+        this.callee = adopt(callee);
+        this.arguments = arguments;
+        for (ExpressionNode argument : arguments) {
+            adopt(argument);
+        }
+        this.paren = paren;
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        KatanaFunction method = callee.method(interpreter);
+        KatanaInstance receiver = callee.receiver(interpreter);
+        return CallNode.invoke(interpreter, method, receiver, arguments, paren);
+    }
+
+    @Override
+    void tailCall(Interpreter interpreter) {
+        KatanaFunction method = callee.method(interpreter);
+        KatanaInstance receiver = callee.receiver(interpreter);
+        Object[] values = CallNode.evaluateArguments(interpreter, arguments);
+        CallNode.checkArity(method, values.length, paren);
+        interpreter.tailInvoke(method, receiver, values, paren);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == child) {
+                arguments[i] = (ExpressionNode) replacement;
+            }
+        }
+    }
+}
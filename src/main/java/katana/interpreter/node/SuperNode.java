@@ -0,0 +1,53 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.KatanaClass;
+import katana.interpreter.KatanaFunction;
+import katana.interpreter.KatanaInstance;
+import katana.interpreter.RuntimeError;
+import katana.model.token.Token;
+
+class SuperNode extends ExpressionNode {
+    private final int depth;
+    private final int slot;
+    private final Token method;
+    private ExpressionNode receiver;
+    private KatanaClass linkedClass;
+    private KatanaFunction linkedMethod;
+
+    SuperNode(int depth, int slot, Token method, ExpressionNode receiver) {
+        this.depth = depth;
+        this.slot = slot;
+        this.method = method;
+        this.receiver = adopt(receiver);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        return method(interpreter).bind(receiver(interpreter));
+    }
+
+    KatanaFunction method(Interpreter interpreter) {
+        KatanaClass superClass = (KatanaClass) interpreter.environment().getAt(depth, slot);
+        if (superClass == linkedClass) {
+            return linkedMethod;
+        }
+
+        KatanaFunction function = superClass.findMethod(method.rawText);
+        if (function == null) {
+            throw new RuntimeError(method, "Undefined property '" + method.rawText + "'.");
+        }
+        linkedClass = superClass;
+        linkedMethod = function;
+        return function;
+    }
+
+    KatanaInstance receiver(Interpreter interpreter) {
+        return (KatanaInstance) receiver.execute(interpreter);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        receiver = (ExpressionNode) replacement;
+    }
+}
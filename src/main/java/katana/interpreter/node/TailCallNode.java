@@ -0,0 +1,21 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+class TailCallNode extends StatementNode {
+    private InvocationNode call;
+
+    TailCallNode(InvocationNode call) {
+        this.call = adopt(call);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        call.tailCall(interpreter);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        call = (InvocationNode) replacement;
+    }
+}
@@ -0,0 +1,16 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.interpreter.Values;
+
+class TruthyConditionNode extends ConditionNode {
+
+    TruthyConditionNode(ExpressionNode expression) {
+        super(expression);
+    }
+
+    @Override
+    boolean test(Interpreter interpreter) {
+        return Values.isTruthy(expression.execute(interpreter));
+    }
+}
@@ -0,0 +1,25 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+import katana.model.stmt.VarStatement;
+
+class VarNode extends StatementNode {
+    private final VarStatement declaration;
+    private ExpressionNode initializer;
+
+    VarNode(VarStatement declaration, ExpressionNode initializer) {
+        this.declaration = declaration;
+        this.initializer = adopt(initializer);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        Object value = initializer == null ? null : initializer.execute(interpreter);
+        interpreter.define(declaration, declaration.name, value);
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        initializer = (ExpressionNode) replacement;
+    }
+}
@@ -0,0 +1,41 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+public class WhileNode extends StatementNode {
+    private ConditionNode condition;
+    private final StatementNode body;
+
+    WhileNode(ExpressionNode condition, StatementNode body) {
+        this.condition = adopt(new BooleanConditionNode(condition));
+        this.body = adopt(body);
+    }
+
+    @Override
+    public void execute(Interpreter interpreter) {
+        while (condition.test(interpreter)) {
+            body.execute(interpreter);
+            if (interpreter.isReturning()) {
+                return;
+            }
+        }
+    }
+
+    public boolean execute(Interpreter interpreter, int deoptimizationLimit) {
+        while (condition.test(interpreter)) {
+            body.execute(interpreter);
+            if (interpreter.isReturning()) {
+                return true;
+            }
+            if (deoptimizations > deoptimizationLimit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        condition = (ConditionNode) replacement;
+    }
+}
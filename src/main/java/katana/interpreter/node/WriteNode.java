@@ -0,0 +1,25 @@
+package katana.interpreter.node;
+
+import katana.interpreter.Interpreter;
+
+abstract class WriteNode extends ExpressionNode {
+    ExpressionNode value;
+
+    WriteNode(ExpressionNode value) {
+        this.value = adopt(value);
+    }
+
+    @Override
+    public Object execute(Interpreter interpreter) {
+        Object result = value.execute(interpreter);
+        write(interpreter, result);
+        return result;
+    }
+
+    abstract void write(Interpreter interpreter, Object result);
+
+    @Override
+    void replaceChild(Node child, Node replacement) {
+        value = (ExpressionNode) replacement;
+    }
+}
@@ -0,0 +1,7 @@
+package katana.model;
+
+public enum Storage {
+    GLOBAL,
+    FRAME,
+    ENVIRONMENT
+}
@@ -0,0 +1,17 @@
+package katana.model;
+
+public enum ValueType {
+    NUMBER,
+    STRING,
+    BOOLEAN,
+    NULL,
+    INSTANCE,
+    UNKNOWN;
+
+    public ValueType join(ValueType other) {
+        if (other == null || other == this) {
+            return this;
+        }
+        return UNKNOWN;
+    }
+}
@@ -2,7 +2,7 @@ package katana.model.expr;
 
 import katana.model.token.Token;
 
-public class AssignExpression extends Expression {
+public class AssignExpression extends ResolvableExpression {
     public final Token name;
     public final Expression value;
 
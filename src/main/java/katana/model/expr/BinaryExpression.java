@@ -6,6 +6,7 @@ public class BinaryExpression extends Expression{
     public final Expression left;
     public final Token operator;
     public final Expression right;
+    public boolean sawNonNumber;
 
     public BinaryExpression(Expression left, Token operator, Expression right) {
         this.left = left;
@@ -1,5 +1,8 @@
 package katana.model.expr;
 
+import katana.interpreter.GlobalVariable;
+import katana.interpreter.KatanaCallable;
+import katana.model.stmt.FunctionStatement;
 import katana.model.token.Token;
 
 import java.util.List;
@@ -8,6 +11,11 @@ public class CallExpression extends Expression {
     public final Expression callee;
     public final Token paren;
     public final List<Expression> arguments;
+    public GlobalVariable linkedGlobal;
+    public KatanaCallable linked;
+    public FunctionStatement inlined;
+    public Expression inlinedBody;
+    public int[] inlinedSlots;
 
     public CallExpression(Expression callee, Token paren, List<Expression> arguments) {
         this.callee = callee;
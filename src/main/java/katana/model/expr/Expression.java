@@ -1,5 +1,9 @@
 package katana.model.expr;
 
+import katana.model.ValueType;
+
 public abstract class Expression {
+    public ValueType type = ValueType.UNKNOWN;
+
     public abstract <T> T accept(ExprVisitor<T> visitor);
 }
@@ -1,10 +1,12 @@
 package katana.model.expr;
 
+import katana.interpreter.InlineCache;
 import katana.model.token.Token;
 
 public class GetExpression extends Expression {
     public final Expression object;
     public final Token name;
+    public final InlineCache cache = new InlineCache();
 
     public GetExpression(Expression object, Token name) {
         this.object = object;
@@ -0,0 +1,15 @@
+package katana.model.expr;
+
+import katana.interpreter.GlobalVariable;
+import katana.model.Storage;
+
+public abstract class ResolvableExpression extends Expression {
+    public Storage storage = Storage.GLOBAL;
+    public int depth;
+    public int slot;
+    public GlobalVariable global;
+
+    public boolean isGlobal() {
+        return storage == Storage.GLOBAL;
+    }
+}
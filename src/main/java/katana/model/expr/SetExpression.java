@@ -1,10 +1,12 @@
 package katana.model.expr;
 
+import katana.interpreter.InlineCache;
 import katana.model.token.Token;
 
 public class SetExpression extends Expression {
     public final Expression object;
     public final Token name;
+    public final InlineCache cache = new InlineCache();
     public final Expression value;
 
     public SetExpression(Expression object, Token name, Expression value) {
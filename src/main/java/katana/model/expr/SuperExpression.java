@@ -1,15 +1,21 @@
 package katana.model.expr;
 
+import katana.interpreter.KatanaClass;
+import katana.interpreter.KatanaFunction;
 import katana.model.token.Token;
 
-public class SuperExpression extends Expression {
+public class SuperExpression extends ResolvableExpression {
 
     public final Token keyword;
     public final Token method;
+    public final ThisExpression receiver;
+    public KatanaClass linkedClass;
+    public KatanaFunction linkedMethod;
 
     public SuperExpression(Token keyword, Token method) {
         this.keyword = keyword;
         this.method = method;
+        this.receiver = new ThisExpression(keyword);
     }
 
     @Override
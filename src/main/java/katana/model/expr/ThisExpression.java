@@ -2,7 +2,7 @@ package katana.model.expr;
 
 import katana.model.token.Token;
 
-public class ThisExpression extends Expression {
+public class ThisExpression extends ResolvableExpression {
 
     public final Token keyword;
 
@@ -2,7 +2,7 @@ package katana.model.expr;
 
 import katana.model.token.Token;
 
-public class VariableExpression extends Expression {
+public class VariableExpression extends ResolvableExpression {
     public final Token name;
 
     public VariableExpression(Token name) {
@@ -4,6 +4,7 @@ import java.util.List;
 
 public class BlockStatement extends Statement {
     public final List<Statement> statements;
+    public int slotCount;
 
     public BlockStatement(List<Statement> statements) {
         this.statements = statements;
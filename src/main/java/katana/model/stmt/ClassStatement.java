@@ -5,7 +5,7 @@ import katana.model.token.Token;
 
 import java.util.List;
 
-public class ClassStatement extends Statement {
+public class ClassStatement extends DeclarationStatement {
 
     public final Token name;
     public final VariableExpression superClass;
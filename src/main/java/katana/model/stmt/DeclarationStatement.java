@@ -0,0 +1,8 @@
+package katana.model.stmt;
+
+import katana.model.Storage;
+
+public abstract class DeclarationStatement extends Statement {
+    public Storage storage = Storage.GLOBAL;
+    public int slot;
+}
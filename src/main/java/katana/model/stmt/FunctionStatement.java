@@ -1,14 +1,22 @@
 package katana.model.stmt;
 
+import katana.interpreter.node.BlockNode;
 import katana.model.token.Token;
 
 import java.util.List;
 
-public class FunctionStatement extends Statement {
+public class FunctionStatement extends DeclarationStatement {
 
     public final Token name;
     public final List<Token> params;
     public final List<Statement> body;
+    public int slotCount;
+    public int frameSize;
+    public int[] paramSlots;
+    public int receiverSlot = -1;
+    public BlockNode compiledBody;
+    public int invocationCount;
+    public boolean deoptimized;
 
     public FunctionStatement(Token name, List<Token> params, List<Statement> body) {
         this.name = name;
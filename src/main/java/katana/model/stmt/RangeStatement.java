@@ -0,0 +1,38 @@
+package katana.model.stmt;
+
+import katana.interpreter.node.StatementNode;
+import katana.model.expr.Expression;
+import katana.model.token.Token;
+
+public class RangeStatement extends DeclarationStatement {
+
+    public final Token name;
+    public final Expression start;
+    public final Token operator;
+    public final Expression end;
+    public final Expression step;
+    public final boolean inclusive;
+    public final boolean fixedEnd;
+    public final Statement body;
+    public int slotCount;
+    public int backEdgeCount;
+    public boolean deoptimized;
+    public StatementNode compiledBody;
+
+    public RangeStatement(Token name, Expression start, Token operator, Expression end, Expression step,
+                          boolean inclusive, boolean fixedEnd, Statement body) {
+        this.name = name;
+        this.start = start;
+        this.operator = operator;
+        this.end = end;
+        this.step = step;
+        this.inclusive = inclusive;
+        this.fixedEnd = fixedEnd;
+        this.body = body;
+    }
+
+    @Override
+    public <T> T accept(StmtVisitor<T> visitor) {
+        return visitor.visitRangeStmt(this);
+    }
+}
@@ -7,6 +7,7 @@ public class ReturnStatement extends Statement {
 
     public final Token keyword;
     public final Expression value;
+    public boolean tailCall;
 
     public ReturnStatement(Token keyword, Expression value) {
         this.keyword = keyword;
@@ -7,6 +7,7 @@ public interface StmtVisitor<T> {
     T visitFunctionStmt(FunctionStatement stmt);
     T visitIfStmt(IfStatement stmt);
     T visitPrintStmt(PrintStatement stmt);
+    T visitRangeStmt(RangeStatement stmt);
     T visitReturnStmt(ReturnStatement stmt);
     T visitVarStmt(VarStatement stmt);
     T visitWhileStmt(WhileStatement stmt);
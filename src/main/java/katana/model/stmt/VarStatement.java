@@ -3,7 +3,7 @@ package katana.model.stmt;
 import katana.model.expr.Expression;
 import katana.model.token.Token;
 
-public class VarStatement extends Statement {
+public class VarStatement extends DeclarationStatement {
 
     public final Token name;
     public final Expression initializer;
@@ -1,11 +1,15 @@
 package katana.model.stmt;
 
+import katana.interpreter.node.WhileNode;
 import katana.model.expr.Expression;
 
 public class WhileStatement extends Statement {
 
     public final Expression condition;
     public final Statement body;
+    public int backEdgeCount;
+    public boolean deoptimized;
+    public WhileNode compiledLoop;
 
     public WhileStatement(Expression condition, Statement body) {
         this.condition = condition;
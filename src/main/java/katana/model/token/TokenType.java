@@ -21,6 +21,7 @@ public enum TokenType {
     GREATER_EQUAL, // '>='
     LESS, // '<'
     LESS_EQUAL, // '<='
+    DOT_DOT, // '..'
     AND, // '&&'
     OR, // '||'
 
@@ -0,0 +1,362 @@
+package katana.optimizer;
+
+import katana.interpreter.Numbers;
+import katana.interpreter.Values;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+import katana.model.token.TokenType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ConstantFolding implements Pass, ExprVisitor<Expression>, StmtVisitor<Statement> {
+    private static final Object NOT_CONSTANT = new Object();
+
+    private final List<Map<String, Binding>> scopes = new ArrayList<>();
+    private final Set<VarStatement> reassigned = new HashSet<>();
+    private boolean propagate = false;
+    private boolean resolverSensitive = false;
+
+    private static class Binding {
+        final VarStatement declaration;
+        final Object value;
+
+        Binding(VarStatement declaration, Object value) {
+            this.declaration = declaration;
+            this.value = value;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "constant-folding";
+    }
+
+    @Override
+    public boolean needsResolution() {
+        return false;
+    }
+
+    @Override
+    public List<Statement> run(List<Statement> statements) {
+        foldAll(statements);
+        propagate = true;
+        return foldAll(statements);
+    }
+
+    private List<Statement> foldAll(List<Statement> statements) {
+        List<Statement> folded = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            Statement result = fold(statement);
+            if (!(result instanceof BlockStatement block && block.statements.isEmpty())) {
+                folded.add(result);
+            }
+        }
+        return folded;
+    }
+
+    private Statement fold(Statement statement) {
+        return statement.accept(this);
+    }
+
+    private Expression fold(Expression expression) {
+        return expression == null ? null : expression.accept(this);
+    }
+
+    private Statement foldBranch(Statement statement, boolean[] droppable, int index) {
+        boolean outer = resolverSensitive;
+        resolverSensitive = false;
+        Statement folded = fold(statement);
+        droppable[index] = !resolverSensitive;
+        resolverSensitive |= outer;
+        return folded;
+    }
+
+    private void beginScope() {
+        scopes.add(new HashMap<>());
+    }
+
+    private void endScope() {
+        scopes.remove(scopes.size() - 1);
+    }
+
+    private void declare(String name, VarStatement declaration, Object value) {
+        if (!scopes.isEmpty()) {
+            scopes.get(scopes.size() - 1).put(name, new Binding(declaration, value));
+        }
+    }
+
+    private Binding lookup(String name) {
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            Binding binding = scopes.get(i).get(name);
+            if (binding != null) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    private static Statement empty() {
+        return new BlockStatement(new ArrayList<>());
+    }
+
+    @Override
+    public Expression visitAssignExpr(AssignExpression expr) {
+        Expression value = fold(expr.value);
+        Binding binding = lookup(expr.name.rawText);
+        if (binding != null && binding.declaration != null) {
+            reassigned.add(binding.declaration);
+        }
+        return value == expr.value ? expr : new AssignExpression(expr.name, value);
+    }
+
+    @Override
+    public Expression visitBinaryExpr(BinaryExpression expr) {
+        Expression left = fold(expr.left);
+        Expression right = fold(expr.right);
+        if (left instanceof LiteralExpression a && right instanceof LiteralExpression b) {
+            Object value = evaluate(expr.operator.type, a.value, b.value);
+            if (value != NOT_CONSTANT) {
+                return new LiteralExpression(value);
+            }
+        }
+        if (left == expr.left && right == expr.right) {
+            return expr;
+        }
+        return new BinaryExpression(left, expr.operator, right);
+    }
+
+    private Object evaluate(TokenType operator, Object left, Object right) {
+        switch (operator) {
+            case EQUAL_EQUAL -> {
+                return Values.isEqual(left, right);
+            }
+            case BANG_EQUAL -> {
+                return !Values.isEqual(left, right);
+            }
+            case PLUS -> {
+                if (left instanceof String a && right instanceof String b) {
+                    return a + b;
+                }
+            }
+        }
+        if (!Numbers.isNumber(left) || !Numbers.isNumber(right)) {
+            return NOT_CONSTANT;
+        }
+        return switch (operator) {
+            case PLUS -> Numbers.add(left, right);
+            case MINUS -> Numbers.subtract(left, right);
+            case STAR -> Numbers.multiply(left, right);
+            case SLASH -> Numbers.divide(left, right);
+            case LESS -> Numbers.less(left, right);
+            case LESS_EQUAL -> Numbers.lessEqual(left, right);
+            case GREATER -> Numbers.less(right, left);
+            case GREATER_EQUAL -> Numbers.lessEqual(right, left);
+            default -> NOT_CONSTANT;
+        };
+    }
+
+    @Override
+    public Expression visitCallExpr(CallExpression expr) {
+        Expression callee = fold(expr.callee);
+        boolean changed = callee != expr.callee;
+        List<Expression> arguments = new ArrayList<>(expr.arguments.size());
+        for (Expression argument : expr.arguments) {
+            Expression folded = fold(argument);
+            changed |= folded != argument;
+            arguments.add(folded);
+        }
+        return changed ? new CallExpression(callee, expr.paren, arguments) : expr;
+    }
+
+    @Override
+    public Expression visitGetExpr(GetExpression expr) {
+        Expression object = fold(expr.object);
+        return object == expr.object ? expr : new GetExpression(object, expr.name);
+    }
+
+    @Override
+    public Expression visitGroupingExpr(GroupingExpression expr) {
+        return fold(expr.expression);
+    }
+
+    @Override
+    public Expression visitLiteralExpr(LiteralExpression expr) {
+        return expr;
+    }
+
+    @Override
+    public Expression visitLogicalExpr(LogicalExpression expr) {
+        Expression left = fold(expr.left);
+        Expression right = fold(expr.right);
+        if (left instanceof LiteralExpression literal) {
+            boolean truthy = Values.isTruthy(literal.value);
+            boolean shortCircuits = expr.operator.type == TokenType.OR ? truthy : !truthy;
+            return shortCircuits ? left : right;
+        }
+        if (left == expr.left && right == expr.right) {
+            return expr;
+        }
+        return new LogicalExpression(left, expr.operator, right);
+    }
+
+    @Override
+    public Expression visitSetExpr(SetExpression expr) {
+        Expression object = fold(expr.object);
+        Expression value = fold(expr.value);
+        if (object == expr.object && value == expr.value) {
+            return expr;
+        }
+        return new SetExpression(object, expr.name, value);
+    }
+
+    @Override
+    public Expression visitSuperExpr(SuperExpression expr) {
+        resolverSensitive = true;
+        return expr;
+    }
+
+    @Override
+    public Expression visitThisExpr(ThisExpression expr) {
+        resolverSensitive = true;
+        return expr;
+    }
+
+    @Override
+    public Expression visitUnaryExpr(UnaryExpression expr) {
+        Expression right = fold(expr.right);
+        if (right instanceof LiteralExpression literal) {
+            if (expr.operator.type == TokenType.BANG) {
+                return new LiteralExpression(!Values.isTruthy(literal.value));
+            }
+            if (Numbers.isNumber(literal.value)) {
+                return new LiteralExpression(Numbers.negate(literal.value));
+            }
+        }
+        return right == expr.right ? expr : new UnaryExpression(expr.operator, right);
+    }
+
+    @Override
+    public Expression visitVariableExpr(VariableExpression expr) {
+        Binding binding = lookup(expr.name.rawText);
+        if (propagate && binding != null && binding.value != NOT_CONSTANT && !reassigned.contains(binding.declaration)) {
+            return new LiteralExpression(binding.value);
+        }
+        return expr;
+    }
+
+    @Override
+    public Statement visitBlockStmt(BlockStatement stmt) {
+        beginScope();
+        List<Statement> statements = foldAll(stmt.statements);
+        endScope();
+        return new BlockStatement(statements);
+    }
+
+    @Override
+    public Statement visitClassStmt(ClassStatement stmt) {
+        resolverSensitive = true;
+        declare(stmt.name.rawText, null, NOT_CONSTANT);
+        List<FunctionStatement> methods = new ArrayList<>(stmt.methods.size());
+        for (FunctionStatement method : stmt.methods) {
+            methods.add(function(method));
+        }
+        return new ClassStatement(stmt.name, stmt.superClass, methods);
+    }
+
+    @Override
+    public Statement visitExpressionStmt(ExpressionStatement stmt) {
+        Expression expression = fold(stmt.expression);
+        return expression == stmt.expression ? stmt : new ExpressionStatement(expression);
+    }
+
+    @Override
+    public Statement visitFunctionStmt(FunctionStatement stmt) {
+        resolverSensitive = true;
+        declare(stmt.name.rawText, null, NOT_CONSTANT);
+        return function(stmt);
+    }
+
+    private FunctionStatement function(FunctionStatement stmt) {
+        beginScope();
+        for (var param : stmt.params) {
+            declare(param.rawText, null, NOT_CONSTANT);
+        }
+        List<Statement> body = foldAll(stmt.body);
+        endScope();
+        return new FunctionStatement(stmt.name, stmt.params, body);
+    }
+
+    @Override
+    public Statement visitIfStmt(IfStatement stmt) {
+        Expression condition = fold(stmt.condition);
+        boolean[] droppable = {true, true};
+        Statement thenBranch = foldBranch(stmt.thenBranch, droppable, 0);
+        Statement elseBranch = stmt.elseBranch == null ? null : foldBranch(stmt.elseBranch, droppable, 1);
+
+        if (condition instanceof LiteralExpression literal) {
+            if (Values.isTruthy(literal.value) && droppable[1]) {
+                return thenBranch;
+            }
+            if (!Values.isTruthy(literal.value) && droppable[0]) {
+                return elseBranch == null ? empty() : elseBranch;
+            }
+        }
+        return new IfStatement(condition, thenBranch, elseBranch);
+    }
+
+    @Override
+    public Statement visitPrintStmt(PrintStatement stmt) {
+        Expression expression = fold(stmt.expression);
+        return expression == stmt.expression ? stmt : new PrintStatement(expression);
+    }
+
+    @Override
+    public Statement visitRangeStmt(RangeStatement stmt) {
+        Expression start = fold(stmt.start);
+        Expression end = fold(stmt.end);
+        Expression step = fold(stmt.step);
+        beginScope();
+        declare(stmt.name.rawText, null, NOT_CONSTANT);
+        Statement body = fold(stmt.body);
+        endScope();
+        boolean fixedEnd = stmt.fixedEnd || end instanceof LiteralExpression;
+        return new RangeStatement(stmt.name, start, stmt.operator, end, step, stmt.inclusive, fixedEnd, body);
+    }
+
+    @Override
+    public Statement visitReturnStmt(ReturnStatement stmt) {
+        resolverSensitive = true;
+        Expression value = fold(stmt.value);
+        return value == stmt.value ? stmt : new ReturnStatement(stmt.keyword, value);
+    }
+
+    @Override
+    public Statement visitVarStmt(VarStatement stmt) {
+        resolverSensitive = true;
+        declare(stmt.name.rawText, stmt, NOT_CONSTANT);
+        Expression initializer = fold(stmt.initializer);
+        VarStatement folded = initializer == stmt.initializer ? stmt : new VarStatement(stmt.name, initializer);
+        if (initializer == null) {
+            declare(stmt.name.rawText, stmt, null);
+        } else if (initializer instanceof LiteralExpression literal) {
+            declare(stmt.name.rawText, stmt, literal.value);
+        }
+        return folded;
+    }
+
+    @Override
+    public Statement visitWhileStmt(WhileStatement stmt) {
+        Expression condition = fold(stmt.condition);
+        boolean[] droppable = {true};
+        Statement body = foldBranch(stmt.body, droppable, 0);
+        if (condition instanceof LiteralExpression literal && !Values.isTruthy(literal.value) && droppable[0]) {
+            return empty();
+        }
+        return new WhileStatement(condition, body);
+    }
+}
@@ -0,0 +1,333 @@
+package katana.optimizer;
+
+import katana.model.Storage;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DeadCodeElimination implements Pass, ExprVisitor<Void>, StmtVisitor<Void> {
+    private final boolean wholeProgram;
+    private final List<Map<String, DeclarationStatement>> scopes = new ArrayList<>();
+    private final List<FunctionStatement> enclosing = new ArrayList<>();
+    private final Map<DeclarationStatement, Integer> uses = new HashMap<>();
+    private final Set<String> globalUses = new HashSet<>();
+    private String enclosingGlobal;
+    private boolean changed;
+
+    public DeadCodeElimination(boolean wholeProgram) {
+        this.wholeProgram = wholeProgram;
+    }
+
+    @Override
+    public String name() {
+        return "dead-code-elimination";
+    }
+
+    @Override
+    public boolean needsResolution() {
+        return true;
+    }
+
+    @Override
+    public List<Statement> run(List<Statement> statements) {
+        do {
+            changed = false;
+            uses.clear();
+            globalUses.clear();
+            countUses(statements);
+            sweep(statements, true);
+        } while (changed);
+        return statements;
+    }
+
+    private void countUses(List<Statement> statements) {
+        beginScope();
+        walkAll(statements);
+        endScope();
+    }
+
+    private void sweep(List<Statement> statements, boolean topLevel) {
+        for (int i = 0; i < statements.size() - 1; i++) {
+            if (statements.get(i) instanceof ReturnStatement) {
+                statements.subList(i + 1, statements.size()).clear();
+                changed = true;
+                break;
+            }
+        }
+        if (statements.removeIf(statement -> isDead(statement, topLevel))) {
+            changed = true;
+        }
+        for (Statement statement : statements) {
+            sweep(statement);
+        }
+    }
+
+    private void sweep(Statement statement) {
+        if (statement instanceof BlockStatement block) {
+            sweep(block.statements, false);
+        } else if (statement instanceof FunctionStatement function) {
+            sweep(function.body, false);
+        } else if (statement instanceof ClassStatement klass) {
+            for (FunctionStatement method : klass.methods) {
+                sweep(method.body, false);
+            }
+        } else if (statement instanceof IfStatement branch) {
+            sweep(branch.thenBranch);
+            if (branch.elseBranch != null) {
+                sweep(branch.elseBranch);
+            }
+        } else if (statement instanceof WhileStatement loop) {
+            sweep(loop.body);
+        } else if (statement instanceof RangeStatement loop) {
+            sweep(loop.body);
+        }
+    }
+
+    private boolean isDead(Statement statement, boolean topLevel) {
+        if (statement instanceof VarStatement var) {
+            return !topLevel && !uses.containsKey(var) && isPure(var.initializer);
+        }
+        if (statement instanceof FunctionStatement function) {
+            if (topLevel) {
+                return wholeProgram && !globalUses.contains(function.name.rawText);
+            }
+            return !uses.containsKey(function);
+        }
+        return statement instanceof BlockStatement block && block.statements.isEmpty();
+    }
+
+    private static boolean isPure(Expression expression) {
+        if (expression == null || expression instanceof LiteralExpression) {
+            return true;
+        }
+        if (expression instanceof GroupingExpression grouping) {
+            return isPure(grouping.expression);
+        }
+        return expression instanceof VariableExpression variable && variable.storage != Storage.GLOBAL;
+    }
+
+    private void beginScope() {
+        scopes.add(new HashMap<>());
+    }
+
+    private void endScope() {
+        scopes.remove(scopes.size() - 1);
+    }
+
+    private void declare(String name, DeclarationStatement declaration) {
+        scopes.get(scopes.size() - 1).put(name, declaration);
+    }
+
+    private void use(String name) {
+        for (int i = scopes.size() - 1; i > 0; i--) {
+            Map<String, DeclarationStatement> scope = scopes.get(i);
+            if (scope.containsKey(name)) {
+                DeclarationStatement declaration = scope.get(name);
+                if (declaration != null && !enclosing.contains(declaration)) {
+                    uses.merge(declaration, 1, Integer::sum);
+                }
+                return;
+            }
+        }
+        if (!name.equals(enclosingGlobal)) {
+            globalUses.add(name);
+        }
+    }
+
+    private void walkAll(List<Statement> statements) {
+        for (Statement statement : statements) {
+            walk(statement);
+        }
+    }
+
+    private void walk(Statement statement) {
+        if (statement != null) {
+            statement.accept(this);
+        }
+    }
+
+    private void walk(Expression expression) {
+        if (expression != null) {
+            expression.accept(this);
+        }
+    }
+
+    private void walkFunction(FunctionStatement function) {
+        enclosing.add(function);
+        beginScope();
+        for (var param : function.params) {
+            declare(param.rawText, null);
+        }
+        walkAll(function.body);
+        endScope();
+        enclosing.remove(enclosing.size() - 1);
+    }
+
+    @Override
+    public Void visitAssignExpr(AssignExpression expr) {
+        walk(expr.value);
+        use(expr.name.rawText);
+        return null;
+    }
+
+    @Override
+    public Void visitBinaryExpr(BinaryExpression expr) {
+        walk(expr.left);
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitCallExpr(CallExpression expr) {
+        walk(expr.callee);
+        for (Expression argument : expr.arguments) {
+            walk(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitGetExpr(GetExpression expr) {
+        walk(expr.object);
+        return null;
+    }
+
+    @Override
+    public Void visitGroupingExpr(GroupingExpression expr) {
+        walk(expr.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteralExpr(LiteralExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalExpr(LogicalExpression expr) {
+        walk(expr.left);
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitSetExpr(SetExpression expr) {
+        walk(expr.object);
+        walk(expr.value);
+        return null;
+    }
+
+    @Override
+    public Void visitSuperExpr(SuperExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitThisExpr(ThisExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitUnaryExpr(UnaryExpression expr) {
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableExpr(VariableExpression expr) {
+        use(expr.name.rawText);
+        return null;
+    }
+
+    @Override
+    public Void visitBlockStmt(BlockStatement stmt) {
+        beginScope();
+        walkAll(stmt.statements);
+        endScope();
+        return null;
+    }
+
+    @Override
+    public Void visitClassStmt(ClassStatement stmt) {
+        if (stmt.superClass != null) {
+            walk(stmt.superClass);
+        }
+        declare(stmt.name.rawText, stmt);
+        for (FunctionStatement method : stmt.methods) {
+            walkFunction(method);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStmt(ExpressionStatement stmt) {
+        walk(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionStmt(FunctionStatement stmt) {
+        boolean global = scopes.size() == 1;
+        declare(stmt.name.rawText, stmt);
+        if (global) {
+            enclosingGlobal = stmt.name.rawText;
+        }
+        walkFunction(stmt);
+        if (global) {
+            enclosingGlobal = null;
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitIfStmt(IfStatement stmt) {
+        walk(stmt.condition);
+        walk(stmt.thenBranch);
+        walk(stmt.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitPrintStmt(PrintStatement stmt) {
+        walk(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        walk(stmt.start);
+        walk(stmt.end);
+        walk(stmt.step);
+        beginScope();
+        declare(stmt.name.rawText, null);
+        walk(stmt.body);
+        endScope();
+        return null;
+    }
+
+    @Override
+    public Void visitReturnStmt(ReturnStatement stmt) {
+        walk(stmt.value);
+        return null;
+    }
+
+    @Override
+    public Void visitVarStmt(VarStatement stmt) {
+        walk(stmt.initializer);
+        declare(stmt.name.rawText, stmt);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileStmt(WhileStatement stmt) {
+        walk(stmt.condition);
+        walk(stmt.body);
+        return null;
+    }
+}
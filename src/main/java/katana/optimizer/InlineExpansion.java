@@ -0,0 +1,105 @@
+package katana.optimizer;
+
+import katana.model.Storage;
+import katana.model.expr.*;
+
+class InlineExpansion implements ExprVisitor<Expression> {
+    private final int[] slots;
+    private int size = 0;
+    private boolean inlinable = true;
+
+    InlineExpansion(int[] slots) {
+        this.slots = slots;
+    }
+
+    static int cost(Expression body, int arity) {
+        InlineExpansion expansion = new InlineExpansion(new int[arity]);
+        expansion.expand(body);
+        return expansion.inlinable ? expansion.size : -1;
+    }
+
+    Expression expand(Expression expression) {
+        size++;
+        Expression copy = expression.accept(this);
+        copy.type = expression.type;
+        return copy;
+    }
+
+    private <T extends ResolvableExpression> T resolved(T copy, ResolvableExpression original) {
+        copy.storage = original.storage;
+        copy.depth = original.depth;
+        copy.slot = original.slot;
+        copy.global = original.global;
+        if (original.storage == Storage.FRAME && original.slot < slots.length) {
+            copy.slot = slots[original.slot];
+        } else if (original.storage != Storage.GLOBAL) {
+            inlinable = false;
+        }
+        return copy;
+    }
+
+    private Expression reject(Expression expr) {
+        inlinable = false;
+        return expr;
+    }
+
+    @Override
+    public Expression visitAssignExpr(AssignExpression expr) {
+        return resolved(new AssignExpression(expr.name, expand(expr.value)), expr);
+    }
+
+    @Override
+    public Expression visitBinaryExpr(BinaryExpression expr) {
+        return new BinaryExpression(expand(expr.left), expr.operator, expand(expr.right));
+    }
+
+    @Override
+    public Expression visitCallExpr(CallExpression expr) {
+        return reject(expr);
+    }
+
+    @Override
+    public Expression visitGetExpr(GetExpression expr) {
+        return new GetExpression(expand(expr.object), expr.name);
+    }
+
+    @Override
+    public Expression visitGroupingExpr(GroupingExpression expr) {
+        return new GroupingExpression(expand(expr.expression));
+    }
+
+    @Override
+    public Expression visitLiteralExpr(LiteralExpression expr) {
+        return new LiteralExpression(expr.value);
+    }
+
+    @Override
+    public Expression visitLogicalExpr(LogicalExpression expr) {
+        return new LogicalExpression(expand(expr.left), expr.operator, expand(expr.right));
+    }
+
+    @Override
+    public Expression visitSetExpr(SetExpression expr) {
+        return new SetExpression(expand(expr.object), expr.name, expand(expr.value));
+    }
+
+    @Override
+    public Expression visitSuperExpr(SuperExpression expr) {
+        return reject(expr);
+    }
+
+    @Override
+    public Expression visitThisExpr(ThisExpression expr) {
+        return reject(expr);
+    }
+
+    @Override
+    public Expression visitUnaryExpr(UnaryExpression expr) {
+        return new UnaryExpression(expr.operator, expand(expr.right));
+    }
+
+    @Override
+    public Expression visitVariableExpr(VariableExpression expr) {
+        return resolved(new VariableExpression(expr.name), expr);
+    }
+}
@@ -0,0 +1,294 @@
+package katana.optimizer;
+
+import katana.interpreter.Interpreter;
+import katana.model.Storage;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Inliner implements Pass, ExprVisitor<Void>, StmtVisitor<Void> {
+    public static final int DEFAULT_BUDGET = 16;
+
+    private final Interpreter interpreter;
+    private final int budget;
+    private final Map<String, FunctionStatement> candidates = new HashMap<>();
+    private final Map<String, Integer> declarations = new HashMap<>();
+    private int nextSlot;
+    private int frameSize;
+
+    public Inliner(Interpreter interpreter, int budget) {
+        this.interpreter = interpreter;
+        this.budget = budget;
+    }
+
+    @Override
+    public String name() {
+        return "inliner";
+    }
+
+    @Override
+    public boolean needsResolution() {
+        return true;
+    }
+
+    @Override
+    public List<Statement> run(List<Statement> statements) {
+        for (Statement statement : statements) {
+            String name = declaredName(statement);
+            if (name != null) {
+                declarations.merge(name, 1, Integer::sum);
+            }
+        }
+        for (Statement statement : statements) {
+            if (statement instanceof FunctionStatement function && isCandidate(function)) {
+                candidates.put(function.name.rawText, function);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return statements;
+        }
+
+        nextSlot = frameSize = interpreter.scriptFrameSize();
+        walkAll(statements);
+        interpreter.reserveScriptFrame(frameSize);
+        return statements;
+    }
+
+    private static String declaredName(Statement statement) {
+        if (statement instanceof FunctionStatement function) {
+            return function.name.rawText;
+        }
+        if (statement instanceof VarStatement var) {
+            return var.name.rawText;
+        }
+        if (statement instanceof ClassStatement klass) {
+            return klass.name.rawText;
+        }
+        return null;
+    }
+
+    private boolean isCandidate(FunctionStatement function) {
+        String name = function.name.rawText;
+        if (declarations.get(name) != 1 || interpreter.resolveGlobal(name).isReassigned()) {
+            return false;
+        }
+        if (function.body.size() != 1 || !(function.body.get(0) instanceof ReturnStatement result) || result.value == null) {
+            return false;
+        }
+        for (int slot : function.paramSlots) {
+            if (slot >= 0) {
+                return false;
+            }
+        }
+        int cost = InlineExpansion.cost(result.value, function.params.size());
+        return cost > 0 && cost <= budget;
+    }
+
+    private FunctionStatement target(CallExpression expr) {
+        if (!(expr.callee instanceof VariableExpression variable) || variable.storage != Storage.GLOBAL) {
+            return null;
+        }
+        FunctionStatement function = candidates.get(variable.name.rawText);
+        if (function == null || function.params.size() != expr.arguments.size()) {
+            return null;
+        }
+        return function;
+    }
+
+    private void walkAll(List<Statement> statements) {
+        for (Statement statement : statements) {
+            walk(statement);
+        }
+    }
+
+    private void walk(Statement statement) {
+        if (statement != null) {
+            statement.accept(this);
+        }
+    }
+
+    private void walk(Expression expression) {
+        if (expression != null) {
+            expression.accept(this);
+        }
+    }
+
+    private void walkArguments(List<Expression> arguments) {
+        for (Expression argument : arguments) {
+            walk(argument);
+        }
+    }
+
+    @Override
+    public Void visitAssignExpr(AssignExpression expr) {
+        walk(expr.value);
+        return null;
+    }
+
+    @Override
+    public Void visitBinaryExpr(BinaryExpression expr) {
+        walk(expr.left);
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitCallExpr(CallExpression expr) {
+        walk(expr.callee);
+        FunctionStatement function = target(expr);
+        if (function == null) {
+            walkArguments(expr.arguments);
+            return null;
+        }
+
+        int[] slots = new int[expr.arguments.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = nextSlot + i;
+        }
+        nextSlot += slots.length;
+        frameSize = Math.max(frameSize, nextSlot);
+        walkArguments(expr.arguments);
+        nextSlot -= slots.length;
+
+        ReturnStatement result = (ReturnStatement) function.body.get(0);
+        expr.inlined = function;
+        expr.inlinedSlots = slots;
+        expr.inlinedBody = new InlineExpansion(slots).expand(result.value);
+        return null;
+    }
+
+    @Override
+    public Void visitGetExpr(GetExpression expr) {
+        walk(expr.object);
+        return null;
+    }
+
+    @Override
+    public Void visitGroupingExpr(GroupingExpression expr) {
+        walk(expr.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteralExpr(LiteralExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalExpr(LogicalExpression expr) {
+        walk(expr.left);
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitSetExpr(SetExpression expr) {
+        walk(expr.object);
+        walk(expr.value);
+        return null;
+    }
+
+    @Override
+    public Void visitSuperExpr(SuperExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitThisExpr(ThisExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitUnaryExpr(UnaryExpression expr) {
+        walk(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableExpr(VariableExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitBlockStmt(BlockStatement stmt) {
+        walkAll(stmt.statements);
+        return null;
+    }
+
+    @Override
+    public Void visitClassStmt(ClassStatement stmt) {
+        for (FunctionStatement method : stmt.methods) {
+            visitFunctionStmt(method);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStmt(ExpressionStatement stmt) {
+        walk(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionStmt(FunctionStatement stmt) {
+        int enclosingNext = nextSlot;
+        int enclosingSize = frameSize;
+        nextSlot = frameSize = stmt.frameSize;
+        walkAll(stmt.body);
+        stmt.frameSize = frameSize;
+        nextSlot = enclosingNext;
+        frameSize = enclosingSize;
+        return null;
+    }
+
+    @Override
+    public Void visitIfStmt(IfStatement stmt) {
+        walk(stmt.condition);
+        walk(stmt.thenBranch);
+        walk(stmt.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitPrintStmt(PrintStatement stmt) {
+        walk(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        walk(stmt.start);
+        walk(stmt.end);
+        walk(stmt.step);
+        walk(stmt.body);
+        return null;
+    }
+
+    @Override
+    public Void visitReturnStmt(ReturnStatement stmt) {
+        if (stmt.tailCall) {
+            CallExpression call = (CallExpression) stmt.value;
+            walk(call.callee);
+            walkArguments(call.arguments);
+            return null;
+        }
+        walk(stmt.value);
+        return null;
+    }
+
+    @Override
+    public Void visitVarStmt(VarStatement stmt) {
+        walk(stmt.initializer);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileStmt(WhileStatement stmt) {
+        walk(stmt.condition);
+        walk(stmt.body);
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package katana.optimizer;
+
+import katana.model.stmt.Statement;
+
+import java.util.List;
+
+public interface Pass {
+    String name();
+
+    boolean needsResolution();
+
+    List<Statement> run(List<Statement> statements);
+}
@@ -0,0 +1,52 @@
+package katana.optimizer;
+
+import katana.model.stmt.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PassManager {
+    private final List<Pass> beforeResolution = new ArrayList<>();
+    private final List<Pass> afterResolution = new ArrayList<>();
+    private final List<Timing> timings = new ArrayList<>();
+
+    public static class Timing {
+        public final String pass;
+        public final long nanos;
+
+        Timing(String pass, long nanos) {
+            this.pass = pass;
+            this.nanos = nanos;
+        }
+    }
+
+    public PassManager add(Pass pass) {
+        if (pass.needsResolution()) {
+            afterResolution.add(pass);
+        } else {
+            beforeResolution.add(pass);
+        }
+        return this;
+    }
+
+    public List<Statement> runBeforeResolution(List<Statement> statements) {
+        return run(beforeResolution, statements);
+    }
+
+    public List<Statement> runAfterResolution(List<Statement> statements) {
+        return run(afterResolution, statements);
+    }
+
+    public List<Timing> timings() {
+        return timings;
+    }
+
+    private List<Statement> run(List<Pass> passes, List<Statement> statements) {
+        for (Pass pass : passes) {
+            long start = System.nanoTime();
+            statements = pass.run(statements);
+            timings.add(new Timing(pass.name(), System.nanoTime() - start));
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,446 @@
+package katana.optimizer;
+
+import katana.model.Storage;
+import katana.model.ValueType;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+import katana.model.token.Token;
+import katana.model.token.TokenType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TypeInference implements Pass, ExprVisitor<ValueType>, StmtVisitor<Void> {
+    private static final Object AMBIGUOUS = new Object();
+
+    private final boolean wholeProgram;
+    private final Map<String, Object> globals = new HashMap<>();
+    private final List<Map<String, Object>> scopes = new ArrayList<>();
+    private final List<FunctionStatement> functions = new ArrayList<>();
+    private final Map<Object, ValueType> variables = new HashMap<>();
+    private final Map<FunctionStatement, ValueType> returns = new HashMap<>();
+    private final Set<Object> escaping = new HashSet<>();
+    private final Set<Object> reassigned = new HashSet<>();
+    private final Set<Statement> declarations = new LinkedHashSet<>();
+    private boolean changed;
+    private int operations;
+    private int numericOperations;
+
+    public TypeInference(boolean wholeProgram) {
+        this.wholeProgram = wholeProgram;
+    }
+
+    @Override
+    public String name() {
+        return "type-inference";
+    }
+
+    @Override
+    public boolean needsResolution() {
+        return true;
+    }
+
+    @Override
+    public List<Statement> run(List<Statement> statements) {
+        if (wholeProgram) {
+            for (Statement statement : statements) {
+                declareGlobal(statement);
+            }
+        }
+        do {
+            changed = false;
+            operations = 0;
+            numericOperations = 0;
+            walkAll(statements);
+        } while (changed);
+        return statements;
+    }
+
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        for (Statement declaration : declarations) {
+            if (declaration instanceof VarStatement var) {
+                Object key = var.storage == Storage.GLOBAL ? globalKey(var.name.rawText) : var;
+                lines.add(line(var.name) + "var " + var.name.rawText + ": " + display(typeOf(key)));
+            } else if (declaration instanceof RangeStatement range) {
+                lines.add(line(range.name) + "var " + range.name.rawText + ": " + display(typeOf(range)));
+            } else if (declaration instanceof FunctionStatement function) {
+                StringBuilder signature = new StringBuilder(line(function.name)).append("fun ").append(function.name.rawText).append('(');
+                for (int i = 0; i < function.params.size(); i++) {
+                    Token param = function.params.get(i);
+                    if (i > 0) {
+                        signature.append(", ");
+                    }
+                    signature.append(param.rawText).append(": ").append(display(typeOf(param)));
+                }
+                lines.add(signature.append("): ").append(display(returns.get(function))).toString());
+            }
+        }
+        lines.add("[types] " + numericOperations + " of " + operations + " arithmetic operations proven numeric");
+        return lines;
+    }
+
+    private static String line(Token name) {
+        return "[line " + name.line + "] ";
+    }
+
+    private static String display(ValueType type) {
+        return (type == null ? ValueType.UNKNOWN : type).name().toLowerCase();
+    }
+
+    private void declareGlobal(Statement statement) {
+        String name;
+        Object declaration;
+        if (statement instanceof FunctionStatement function) {
+            name = function.name.rawText;
+            declaration = function;
+        } else if (statement instanceof ClassStatement klass) {
+            name = klass.name.rawText;
+            declaration = klass;
+        } else if (statement instanceof VarStatement var) {
+            name = var.name.rawText;
+            declaration = name;
+        } else {
+            return;
+        }
+        Object previous = globals.putIfAbsent(name, declaration);
+        if (previous != null && !previous.equals(declaration)) {
+            globals.put(name, AMBIGUOUS);
+        }
+    }
+
+    private Object globalKey(String name) {
+        if (!wholeProgram) {
+            return null;
+        }
+        Object declaration = globals.get(name);
+        return declaration == AMBIGUOUS ? null : declaration;
+    }
+
+    private Object resolve(String name) {
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            Map<String, Object> scope = scopes.get(i);
+            if (scope.containsKey(name)) {
+                return scope.get(name);
+            }
+        }
+        return globalKey(name);
+    }
+
+    private void declare(String name, Object key) {
+        if (!scopes.isEmpty()) {
+            scopes.get(scopes.size() - 1).put(name, key);
+        }
+    }
+
+    private void beginScope() {
+        scopes.add(new HashMap<>());
+    }
+
+    private void endScope() {
+        scopes.remove(scopes.size() - 1);
+    }
+
+    private ValueType typeOf(Object key) {
+        if (key == null || key instanceof FunctionStatement || key instanceof ClassStatement) {
+            return ValueType.UNKNOWN;
+        }
+        return variables.get(key);
+    }
+
+    private void assign(Object key, ValueType type) {
+        if (key instanceof FunctionStatement || key instanceof ClassStatement) {
+            mark(reassigned, key);
+            return;
+        }
+        join(variables, key, type);
+    }
+
+    private <K> void join(Map<K, ValueType> types, K key, ValueType type) {
+        if (key == null || type == null) {
+            return;
+        }
+        ValueType current = types.get(key);
+        ValueType joined = current == null ? type : current.join(type);
+        if (joined != current) {
+            types.put(key, joined);
+            changed = true;
+        }
+    }
+
+    private void mark(Set<Object> set, Object key) {
+        if (set.add(key)) {
+            changed = true;
+        }
+    }
+
+    private boolean isKnown(FunctionStatement function) {
+        return !escaping.contains(function) && !reassigned.contains(function);
+    }
+
+    private ValueType infer(Expression expression) {
+        ValueType type = expression.accept(this);
+        expression.type = type == null ? ValueType.UNKNOWN : type;
+        return type;
+    }
+
+    private void walkAll(List<Statement> statements) {
+        for (Statement statement : statements) {
+            walk(statement);
+        }
+    }
+
+    private void walk(Statement statement) {
+        if (statement != null) {
+            statement.accept(this);
+        }
+    }
+
+    private void walkFunction(FunctionStatement function, boolean callable) {
+        declarations.add(function);
+        functions.add(function);
+        beginScope();
+        boolean known = callable && isKnown(function);
+        for (Token param : function.params) {
+            declare(param.rawText, param);
+            if (!known) {
+                join(variables, param, ValueType.UNKNOWN);
+            }
+        }
+        walkAll(function.body);
+        if (function.body.isEmpty() || !(function.body.get(function.body.size() - 1) instanceof ReturnStatement)) {
+            join(returns, function, ValueType.NULL);
+        }
+        endScope();
+        functions.remove(functions.size() - 1);
+    }
+
+    private static ValueType either(ValueType left, ValueType right) {
+        if (left == null) {
+            return right;
+        }
+        return left.join(right);
+    }
+
+    @Override
+    public ValueType visitAssignExpr(AssignExpression expr) {
+        ValueType type = infer(expr.value);
+        assign(resolve(expr.name.rawText), type);
+        return type;
+    }
+
+    @Override
+    public ValueType visitBinaryExpr(BinaryExpression expr) {
+        ValueType left = infer(expr.left);
+        ValueType right = infer(expr.right);
+        return switch (expr.operator.type) {
+            case MINUS, STAR, SLASH -> {
+                count(left, right);
+                yield ValueType.NUMBER;
+            }
+            case PLUS -> {
+                count(left, right);
+                if (left == ValueType.NUMBER || right == ValueType.NUMBER) {
+                    yield ValueType.NUMBER;
+                }
+                if (left == null || right == null) {
+                    yield null;
+                }
+                if (left == ValueType.STRING || right == ValueType.STRING) {
+                    yield ValueType.STRING;
+                }
+                yield ValueType.UNKNOWN;
+            }
+            case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL, EQUAL_EQUAL, BANG_EQUAL -> ValueType.BOOLEAN;
+            default -> ValueType.UNKNOWN;
+        };
+    }
+
+    private void count(ValueType left, ValueType right) {
+        operations++;
+        if (left == ValueType.NUMBER && right == ValueType.NUMBER) {
+            numericOperations++;
+        }
+    }
+
+    @Override
+    public ValueType visitCallExpr(CallExpression expr) {
+        Object target = expr.callee instanceof VariableExpression variable ? resolve(variable.name.rawText) : null;
+        if (target instanceof FunctionStatement function) {
+            expr.callee.type = ValueType.UNKNOWN;
+            for (int i = 0; i < expr.arguments.size(); i++) {
+                ValueType type = infer(expr.arguments.get(i));
+                if (i < function.params.size()) {
+                    join(variables, function.params.get(i), type);
+                }
+            }
+            return reassigned.contains(function) ? ValueType.UNKNOWN : returns.get(function);
+        }
+
+        infer(expr.callee);
+        for (Expression argument : expr.arguments) {
+            infer(argument);
+        }
+        if (target instanceof ClassStatement && !reassigned.contains(target)) {
+            return ValueType.INSTANCE;
+        }
+        return ValueType.UNKNOWN;
+    }
+
+    @Override
+    public ValueType visitGetExpr(GetExpression expr) {
+        infer(expr.object);
+        return ValueType.UNKNOWN;
+    }
+
+    @Override
+    public ValueType visitGroupingExpr(GroupingExpression expr) {
+        return infer(expr.expression);
+    }
+
+    @Override
+    public ValueType visitLiteralExpr(LiteralExpression expr) {
+        Object value = expr.value;
+        if (value == null) {
+            return ValueType.NULL;
+        }
+        if (value instanceof Number) {
+            return ValueType.NUMBER;
+        }
+        if (value instanceof Boolean) {
+            return ValueType.BOOLEAN;
+        }
+        return value instanceof String ? ValueType.STRING : ValueType.UNKNOWN;
+    }
+
+    @Override
+    public ValueType visitLogicalExpr(LogicalExpression expr) {
+        return either(infer(expr.left), infer(expr.right));
+    }
+
+    @Override
+    public ValueType visitSetExpr(SetExpression expr) {
+        infer(expr.object);
+        return infer(expr.value);
+    }
+
+    @Override
+    public ValueType visitSuperExpr(SuperExpression expr) {
+        return ValueType.UNKNOWN;
+    }
+
+    @Override
+    public ValueType visitThisExpr(ThisExpression expr) {
+        return ValueType.INSTANCE;
+    }
+
+    @Override
+    public ValueType visitUnaryExpr(UnaryExpression expr) {
+        infer(expr.right);
+        return expr.operator.type == TokenType.MINUS ? ValueType.NUMBER : ValueType.BOOLEAN;
+    }
+
+    @Override
+    public ValueType visitVariableExpr(VariableExpression expr) {
+        Object key = resolve(expr.name.rawText);
+        if (key instanceof FunctionStatement) {
+            mark(escaping, key);
+        }
+        return typeOf(key);
+    }
+
+    @Override
+    public Void visitBlockStmt(BlockStatement stmt) {
+        beginScope();
+        walkAll(stmt.statements);
+        endScope();
+        return null;
+    }
+
+    @Override
+    public Void visitClassStmt(ClassStatement stmt) {
+        if (stmt.superClass != null) {
+            infer(stmt.superClass);
+        }
+        declare(stmt.name.rawText, stmt);
+        for (FunctionStatement method : stmt.methods) {
+            walkFunction(method, false);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStmt(ExpressionStatement stmt) {
+        infer(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionStmt(FunctionStatement stmt) {
+        declare(stmt.name.rawText, stmt);
+        walkFunction(stmt, scopes.isEmpty() ? resolve(stmt.name.rawText) == stmt : true);
+        return null;
+    }
+
+    @Override
+    public Void visitIfStmt(IfStatement stmt) {
+        infer(stmt.condition);
+        walk(stmt.thenBranch);
+        walk(stmt.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitPrintStmt(PrintStatement stmt) {
+        infer(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        infer(stmt.start);
+        infer(stmt.end);
+        infer(stmt.step);
+        declarations.add(stmt);
+        beginScope();
+        declare(stmt.name.rawText, stmt);
+        join(variables, stmt, ValueType.NUMBER);
+        walk(stmt.body);
+        endScope();
+        return null;
+    }
+
+    @Override
+    public Void visitReturnStmt(ReturnStatement stmt) {
+        ValueType type = stmt.value == null ? ValueType.NULL : infer(stmt.value);
+        if (!functions.isEmpty()) {
+            join(returns, functions.get(functions.size() - 1), type);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitVarStmt(VarStatement stmt) {
+        ValueType type = stmt.initializer == null ? ValueType.NULL : infer(stmt.initializer);
+        declarations.add(stmt);
+        if (scopes.isEmpty()) {
+            assign(globalKey(stmt.name.rawText), type);
+            return null;
+        }
+        declare(stmt.name.rawText, stmt);
+        join(variables, stmt, type);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileStmt(WhileStatement stmt) {
+        infer(stmt.condition);
+        walk(stmt.body);
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package katana.parser;
+
+import katana.interpreter.Numbers;
+import katana.model.expr.AssignExpression;
+import katana.model.expr.BinaryExpression;
+import katana.model.expr.Expression;
+import katana.model.expr.LiteralExpression;
+import katana.model.expr.VariableExpression;
+import katana.model.stmt.RangeStatement;
+import katana.model.stmt.Statement;
+import katana.model.stmt.VarStatement;
+import katana.model.token.TokenType;
+
+final class CountedLoop {
+
+    private CountedLoop() {
+    }
+
+    static RangeStatement lower(Statement initializer, Expression condition, Expression increment, Statement body) {
+        if (!(initializer instanceof VarStatement declaration) || declaration.initializer == null
+                || !(condition instanceof BinaryExpression test)
+                || !(increment instanceof AssignExpression update)) {
+            return null;
+        }
+
+        String name = declaration.name.rawText;
+        Object step = step(name, update);
+        if (step == null || !isCounter(test.left, name) || !isBound(test.right, name)) {
+            return null;
+        }
+
+        boolean upward = Numbers.toDouble(step) > 0;
+        boolean inclusive;
+        switch (test.operator.type) {
+            case LESS, LESS_EQUAL -> {
+                if (!upward) {
+                    return null;
+                }
+                inclusive = test.operator.type == TokenType.LESS_EQUAL;
+            }
+            case GREATER, GREATER_EQUAL -> {
+                if (upward) {
+                    return null;
+                }
+                inclusive = test.operator.type == TokenType.GREATER_EQUAL;
+            }
+            default -> {
+                return null;
+            }
+        }
+
+        if (new NameUsage(name).scan(declaration.initializer).read) {
+            return null;
+        }
+        NameUsage usage = new NameUsage(name).scan(body);
+        if (usage.assigned || usage.captured) {
+            return null;
+        }
+
+        return new RangeStatement(declaration.name, declaration.initializer, test.operator, test.right,
+                new LiteralExpression(step), inclusive, test.right instanceof LiteralExpression, body);
+    }
+
+    private static Object step(String name, AssignExpression update) {
+        if (!update.name.rawText.equals(name) || !(update.value instanceof BinaryExpression binary)
+                || !isCounter(binary.left, name)
+                || !(binary.right instanceof LiteralExpression literal) || !Numbers.isNumber(literal.value)) {
+            return null;
+        }
+        double amount = Numbers.toDouble(literal.value);
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            return null;
+        }
+        return switch (binary.operator.type) {
+            case PLUS -> literal.value;
+            case MINUS -> Numbers.negate(literal.value);
+            default -> null;
+        };
+    }
+
+    private static boolean isCounter(Expression expression, String name) {
+        return expression instanceof VariableExpression variable && variable.name.rawText.equals(name);
+    }
+
+    private static boolean isBound(Expression expression, String name) {
+        if (expression instanceof LiteralExpression literal) {
+            return Numbers.isNumber(literal.value);
+        }
+        return expression instanceof VariableExpression variable && !variable.name.rawText.equals(name);
+    }
+}
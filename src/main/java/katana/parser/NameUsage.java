@@ -0,0 +1,191 @@
+package katana.parser;
+
+import katana.model.expr.*;
+import katana.model.stmt.*;
+
+import java.util.List;
+
+class NameUsage implements ExprVisitor<Void>, StmtVisitor<Void> {
+    private final String name;
+    private int functionDepth = 0;
+    boolean read = false;
+    boolean assigned = false;
+    boolean captured = false;
+
+    NameUsage(String name) {
+        this.name = name;
+    }
+
+    NameUsage scan(Statement statement) {
+        if (statement != null) {
+            statement.accept(this);
+        }
+        return this;
+    }
+
+    NameUsage scan(Expression expression) {
+        if (expression != null) {
+            expression.accept(this);
+        }
+        return this;
+    }
+
+    private void scan(List<? extends Statement> statements) {
+        for (Statement statement : statements) {
+            scan(statement);
+        }
+    }
+
+    private void use(String used) {
+        if (used.equals(name)) {
+            read = true;
+            captured |= functionDepth > 0;
+        }
+    }
+
+    @Override
+    public Void visitAssignExpr(AssignExpression expr) {
+        scan(expr.value);
+        use(expr.name.rawText);
+        assigned |= expr.name.rawText.equals(name);
+        return null;
+    }
+
+    @Override
+    public Void visitBinaryExpr(BinaryExpression expr) {
+        scan(expr.left);
+        scan(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitCallExpr(CallExpression expr) {
+        scan(expr.callee);
+        for (Expression argument : expr.arguments) {
+            scan(argument);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitGetExpr(GetExpression expr) {
+        scan(expr.object);
+        return null;
+    }
+
+    @Override
+    public Void visitGroupingExpr(GroupingExpression expr) {
+        scan(expr.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteralExpr(LiteralExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalExpr(LogicalExpression expr) {
+        scan(expr.left);
+        scan(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitSetExpr(SetExpression expr) {
+        scan(expr.object);
+        scan(expr.value);
+        return null;
+    }
+
+    @Override
+    public Void visitSuperExpr(SuperExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitThisExpr(ThisExpression expr) {
+        return null;
+    }
+
+    @Override
+    public Void visitUnaryExpr(UnaryExpression expr) {
+        scan(expr.right);
+        return null;
+    }
+
+    @Override
+    public Void visitVariableExpr(VariableExpression expr) {
+        use(expr.name.rawText);
+        return null;
+    }
+
+    @Override
+    public Void visitBlockStmt(BlockStatement stmt) {
+        scan(stmt.statements);
+        return null;
+    }
+
+    @Override
+    public Void visitClassStmt(ClassStatement stmt) {
+        scan(stmt.superClass);
+        scan(stmt.methods);
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStmt(ExpressionStatement stmt) {
+        scan(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionStmt(FunctionStatement stmt) {
+        functionDepth++;
+        scan(stmt.body);
+        functionDepth--;
+        return null;
+    }
+
+    @Override
+    public Void visitIfStmt(IfStatement stmt) {
+        scan(stmt.condition);
+        scan(stmt.thenBranch);
+        scan(stmt.elseBranch);
+        return null;
+    }
+
+    @Override
+    public Void visitPrintStmt(PrintStatement stmt) {
+        scan(stmt.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        scan(stmt.start);
+        scan(stmt.end);
+        scan(stmt.step);
+        scan(stmt.body);
+        return null;
+    }
+
+    @Override
+    public Void visitReturnStmt(ReturnStatement stmt) {
+        scan(stmt.value);
+        return null;
+    }
+
+    @Override
+    public Void visitVarStmt(VarStatement stmt) {
+        scan(stmt.initializer);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileStmt(WhileStatement stmt) {
+        scan(stmt.condition);
+        scan(stmt.body);
+        return null;
+    }
+}
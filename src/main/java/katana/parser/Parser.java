@@ -149,6 +149,10 @@ public class Parser {
 
         consume(LEFT_PAREN, "Expect '(' after 'for'.");
 
+        if (isRangeHeader()) {
+            return parseRangeStatement();
+        }
+
         Statement initializer = parseForInitializer();
 
         Expression condition = parseForCondition();
@@ -163,6 +167,36 @@ public class Parser {
 
     }
 
+    private boolean isRangeHeader() {
+        return check(VAR) && current + 2 < tokens.size()
+                && tokens.get(current + 1).type == IDENTIFIER && isContextual(tokens.get(current + 2), "in");
+    }
+
+    private Statement parseRangeStatement() {
+        advance();
+        Token name = consume(IDENTIFIER, "Expect variable name.");
+        advance();
+
+        Expression start = parseExpression();
+        Token operator = consume(DOT_DOT, "Expect '..' in range.");
+        Expression end = parseExpression();
+
+        Expression step = new LiteralExpression(1L);
+        if (isContextual(peek(), "step")) {
+            advance();
+            step = parseExpression();
+        }
+
+        consume(RIGHT_PAREN, "Expect ')' after range.");
+        Statement body = parseStatement();
+
+        return new RangeStatement(name, start, operator, end, step, false, true, body);
+    }
+
+    private boolean isContextual(Token token, String keyword) {
+        return token.type == IDENTIFIER && token.rawText.equals(keyword);
+    }
+
     private Statement parseForInitializer() {
         Statement initializer;
         if (match(SEMICOLON)) {
@@ -195,8 +229,13 @@ public class Parser {
 
         Statement body = parseStatement();
 
+        RangeStatement counted = CountedLoop.lower(initializer, condition, increment, body);
+        if (counted != null) {
+            return counted;
+        }
+
         if (increment != null) {
-            body = new BlockStatement(Arrays.asList(body, new ExpressionStatement(increment)));
+            body = new BlockStatement(new ArrayList<>(Arrays.asList(body, new ExpressionStatement(increment))));
         }
 
         if (condition == null) {
@@ -205,7 +244,7 @@ public class Parser {
         body = new WhileStatement(condition, body);
 
         if (initializer != null) {
-            body = new BlockStatement(Arrays.asList(initializer, body));
+            body = new BlockStatement(new ArrayList<>(Arrays.asList(initializer, body)));
         }
 
         return body;
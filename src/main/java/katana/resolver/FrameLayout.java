@@ -0,0 +1,24 @@
+package katana.resolver;
+
+class FrameLayout {
+    private int next = 0;
+    private int size = 0;
+
+    int allocate() {
+        int slot = next++;
+        size = Math.max(size, next);
+        return slot;
+    }
+
+    int mark() {
+        return next;
+    }
+
+    void release(int mark) {
+        next = mark;
+    }
+
+    int size() {
+        return size;
+    }
+}
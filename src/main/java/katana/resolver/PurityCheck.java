@@ -0,0 +1,148 @@
+package katana.resolver;
+
+import katana.Katana;
+import katana.model.expr.CallExpression;
+import katana.model.expr.Expression;
+import katana.model.expr.VariableExpression;
+import katana.model.stmt.FunctionStatement;
+import katana.model.token.Token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class PurityCheck {
+    private static final String MEMO = "memo";
+
+    private final Map<String, Integer> declarations = new HashMap<>();
+    private final Set<String> assigned = new HashSet<>();
+    private final Map<String, FunctionStatement> functions = new HashMap<>();
+    private final Map<String, String> memoAliases = new HashMap<>();
+    private final Map<FunctionStatement, List<Effect>> effects = new HashMap<>();
+    private final List<FunctionStatement> enclosing = new ArrayList<>();
+    private final List<Token> sites = new ArrayList<>();
+    private final List<String> wrapped = new ArrayList<>();
+
+    private static class Effect {
+        final String global;
+        final String description;
+
+        Effect(String global, String description) {
+            this.global = global;
+            this.description = description;
+        }
+    }
+
+    void enterFunction(FunctionStatement function) {
+        enclosing.add(function);
+    }
+
+    void exitFunction() {
+        enclosing.remove(enclosing.size() - 1);
+    }
+
+    void declareFunction(FunctionStatement function) {
+        declare(function.name);
+        functions.put(function.name.rawText, function);
+    }
+
+    void declareGlobal(Token name, Expression initializer) {
+        declare(name);
+        String target = memoized(initializer);
+        if (target != null) {
+            memoAliases.put(name.rawText, target);
+        }
+    }
+
+    private void declare(Token name) {
+        declarations.merge(name.rawText, 1, Integer::sum);
+    }
+
+    void readGlobal(Token name) {
+        record(new Effect(name.rawText, null));
+    }
+
+    void writeGlobal(Token name) {
+        assigned.add(name.rawText);
+        record(new Effect(null, "assigns global '" + name.rawText + "'"));
+    }
+
+    void touchInstance() {
+        record(new Effect(null, "touches instance state"));
+    }
+
+    void call(CallExpression call) {
+        String target = memoized(call);
+        if (target != null) {
+            sites.add(((VariableExpression) call.callee).name);
+            wrapped.add(target);
+        }
+    }
+
+    void report() {
+        if (declarations.containsKey(MEMO) || assigned.contains(MEMO)) {
+            return;
+        }
+        for (int i = 0; i < sites.size(); i++) {
+            String name = wrapped.get(i);
+            if (!isStable(name) || !functions.containsKey(name)) {
+                continue;
+            }
+            String reason = impurity(name, new HashSet<>());
+            if (reason != null) {
+                Katana.warning(sites.get(i), "memo() wraps '" + name + "', which " + reason + "; cached results may go stale.");
+            }
+        }
+    }
+
+    private String impurity(String name, Set<String> visited) {
+        if (!visited.add(name)) {
+            return null;
+        }
+        for (Effect effect : effects.getOrDefault(functions.get(name), List.of())) {
+            if (effect.global == null) {
+                return effect.description;
+            }
+            String target = stableFunction(effect.global);
+            if (target == null) {
+                return "reads global '" + effect.global + "'";
+            }
+            String reason = impurity(target, visited);
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    private String stableFunction(String name) {
+        if (!isStable(name)) {
+            return null;
+        }
+        String target = memoAliases.getOrDefault(name, name);
+        return functions.containsKey(target) && isStable(target) ? target : null;
+    }
+
+    private boolean isStable(String name) {
+        return declarations.getOrDefault(name, 0) == 1 && !assigned.contains(name);
+    }
+
+    private void record(Effect effect) {
+        for (FunctionStatement function : enclosing) {
+            effects.computeIfAbsent(function, key -> new ArrayList<>()).add(effect);
+        }
+    }
+
+    private static String memoized(Expression expression) {
+        if (expression instanceof CallExpression call
+                && call.callee instanceof VariableExpression callee && callee.global != null
+                && callee.name.rawText.equals(MEMO) && !call.arguments.isEmpty()
+                && call.arguments.get(0) instanceof VariableExpression function && function.global != null) {
+            return function.name.rawText;
+        }
+        return null;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     private final Interpreter interpreter;
     private final Scopes scopes = new Scopes();
+    private final PurityCheck purity = new PurityCheck();
     private FunctionType currentFunction = FunctionType.NONE;
     private ClassType currentClass = ClassType.NONE;
 
@@ -28,6 +29,12 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     }
 
     public void resolve(List<Statement> statements) {
+        resolveStatements(statements);
+        interpreter.reserveScriptFrame(scopes.scriptFrameSize());
+        purity.report();
+    }
+
+    private void resolveStatements(List<Statement> statements) {
         for (Statement statement : statements) {
             resolve(statement);
         }
@@ -44,14 +51,33 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     private void resolveFunction(FunctionStatement function, FunctionType type) {
         FunctionType enclosingFunction = currentFunction;
         currentFunction = type;
+        purity.enterFunction(function);
 
-        scopes.beginScope();
+        scopes.beginFunctionScope();
+        Scope scope = scopes.peek();
         resolveParams(function.params);
-        resolve(function.body);
-        scopes.endScope();
+        if (type == FunctionType.METHOD || type == FunctionType.INITIALIZER) {
+            scopes.declareParameter("this");
+        }
+        resolveStatements(function.body);
+        function.slotCount = scopes.endScope();
+        function.frameSize = scope.frameSize();
+        function.paramSlots = paramSlots(scope, function.params);
+        if (type == FunctionType.METHOD || type == FunctionType.INITIALIZER) {
+            function.receiverSlot = scope.environmentSlotOf("this");
+        }
+        purity.exitFunction();
         currentFunction = enclosingFunction;
     }
 
+    private int[] paramSlots(Scope scope, List<Token> params) {
+        int[] slots = new int[params.size()];
+        for (int i = 0; i < params.size(); i++) {
+            slots[i] = scope.environmentSlotOf(params.get(i).rawText);
+        }
+        return slots;
+    }
+
     private void resolveParams(List<Token> params) {
         for (Token param : params) {
             scopes.declare(param);
@@ -59,12 +85,9 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
         }
     }
 
-    private void resolveLocal(Expression expression, Token name) {
-        for (int i = scopes.size() - 1; i >= 0; i--) {
-            if (scopes.get(i).declaredVariable(name.rawText)) {
-                interpreter.resolve(expression, scopes.size() - 1 - i);
-                return;
-            }
+    private void resolveLocal(ResolvableExpression expression, Token name) {
+        if (!scopes.resolve(expression, name)) {
+            expression.global = interpreter.resolveGlobal(name.rawText);
         }
     }
 
@@ -72,6 +95,10 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     public Void visitAssignExpr(AssignExpression expr) {
         resolve(expr.value);
         resolveLocal(expr, expr.name);
+        if (expr.global != null) {
+            expr.global.markReassigned();
+            purity.writeGlobal(expr.name);
+        }
         return null;
     }
 
@@ -89,6 +116,7 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
         for (Expression argument : expr.arguments) {
             resolve(argument);
         }
+        purity.call(expr);
 
         return null;
     }
@@ -96,6 +124,7 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     @Override
     public Void visitGetExpr(GetExpression expr) {
         resolve(expr.object);
+        purity.touchInstance();
         return null;
     }
 
@@ -121,12 +150,15 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     public Void visitSetExpr(SetExpression expr) {
         resolve(expr.value);
         resolve(expr.object);
+        purity.touchInstance();
         return null;
     }
 
     @Override
     public Void visitSuperExpr(SuperExpression expr) {
         resolveLocal(expr, expr.keyword);
+        scopes.resolve(expr.receiver, "this");
+        purity.touchInstance();
         return null;
     }
 
@@ -137,6 +169,7 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
             return null;
         }
         resolveLocal(expr, expr.keyword);
+        purity.touchInstance();
         return null;
     }
 
@@ -152,14 +185,17 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
             Katana.error(expr.name, "Can't read local variable in its own initializer.");
         }
         resolveLocal(expr, expr.name);
+        if (expr.global != null) {
+            purity.readGlobal(expr.name);
+        }
         return null;
     }
 
     @Override
     public Void visitBlockStmt(BlockStatement stmt) {
         scopes.beginScope();
-        resolve(stmt.statements);
-        scopes.endScope();
+        resolveStatements(stmt.statements);
+        stmt.slotCount = scopes.endScope();
         return null;
     }
 
@@ -168,7 +204,10 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
         ClassType enclosingClass = currentClass;
         currentClass = ClassType.CLASS;
 
-        scopes.declare(stmt.name);
+        if (scopes.isEmpty()) {
+            purity.declareGlobal(stmt.name, null);
+        }
+        scopes.declare(stmt.name, stmt);
         scopes.define(stmt.name);
 
         if (isInheritItself(stmt)) {
@@ -181,16 +220,11 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
         if (hasSuperClass(stmt)) {
             scopes.beginScope();
-            scopes.peek().put("super", true);
+            scopes.declareReceiver("super");
         }
 
-        scopes.beginScope();
-        scopes.peek().put("this", true);
-
         resolveMethods(stmt);
 
-        scopes.endScope();
-
         if (hasSuperClass(stmt)) {
             scopes.endScope();
         }
@@ -225,7 +259,10 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
     @Override
     public Void visitFunctionStmt(FunctionStatement stmt) {
-        scopes.declare(stmt.name);
+        if (scopes.isEmpty()) {
+            purity.declareFunction(stmt);
+        }
+        scopes.declare(stmt.name, stmt);
         scopes.define(stmt.name);
 
         resolveFunction(stmt, FunctionType.FUNCTION);
@@ -248,6 +285,20 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
         return null;
     }
 
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        resolve(stmt.start);
+        resolve(stmt.end);
+        resolve(stmt.step);
+
+        scopes.beginScope();
+        scopes.declare(stmt.name, stmt);
+        scopes.define(stmt.name);
+        resolve(stmt.body);
+        stmt.slotCount = scopes.endScope();
+        return null;
+    }
+
     @Override
     public Void visitReturnStmt(ReturnStatement stmt) {
         if (currentFunction == FunctionType.NONE) {
@@ -260,16 +311,20 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
             }
 
             resolve(stmt.value);
+            stmt.tailCall = stmt.value instanceof CallExpression;
         }
         return null;
     }
 
     @Override
     public Void visitVarStmt(VarStatement stmt) {
-        scopes.declare(stmt.name);
+        scopes.declare(stmt.name, stmt);
         if (stmt.initializer != null) {
             resolve(stmt.initializer);
         }
+        if (scopes.isEmpty()) {
+            purity.declareGlobal(stmt.name, stmt.initializer);
+        }
         scopes.define(stmt.name);
         return null;
     }
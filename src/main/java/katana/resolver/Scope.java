@@ -1,13 +1,32 @@
 package katana.resolver;
 
-import java.util.HashMap;
+import katana.model.stmt.DeclarationStatement;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Scope {
-    private Map<String, Boolean> scope = new HashMap<>();
+    private final Map<String, Variable> scope = new LinkedHashMap<>();
+    final FrameLayout frame;
+    private final int frameMark;
+    private int environmentSize = 0;
+
+    Scope(FrameLayout frame) {
+        this.frame = frame;
+        this.frameMark = frame.mark();
+    }
+
+    Variable put(String variable, DeclarationStatement declaration) {
+        Variable declared = new Variable(declaration, frame.allocate());
+        this.scope.put(variable, declared);
+        return declared;
+    }
 
-    public void put(String variable, Boolean isResolvedInitializer) {
-        this.scope.put(variable, isResolvedInitializer);
+    void putReceiver(String variable) {
+        Variable receiver = new Variable(null, -1);
+        receiver.defined = true;
+        receiver.captured = true;
+        this.scope.put(variable, receiver);
     }
 
     public boolean declaredVariable(String variable) {
@@ -15,6 +34,36 @@ public class Scope {
     }
 
     public Boolean get(String variable) {
+        Variable declared = scope.get(variable);
+        return declared == null ? null : declared.defined;
+    }
+
+    Variable variable(String variable) {
         return scope.get(variable);
     }
+
+    int finish() {
+        for (Variable variable : scope.values()) {
+            if (variable.captured) {
+                variable.environmentSlot = environmentSize++;
+            }
+        }
+        for (Variable variable : scope.values()) {
+            variable.bind();
+        }
+        frame.release(frameMark);
+        return environmentSize;
+    }
+
+    int environmentSlotOf(String variable) {
+        return scope.get(variable).environmentSlot;
+    }
+
+    int frameSize() {
+        return frame.size();
+    }
+
+    boolean createsEnvironment() {
+        return environmentSize > 0;
+    }
 }
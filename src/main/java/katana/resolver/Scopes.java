@@ -1,23 +1,33 @@
 package katana.resolver;
 
 import katana.Katana;
+import katana.model.expr.ResolvableExpression;
+import katana.model.stmt.DeclarationStatement;
 import katana.model.token.Token;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
 
 public class Scopes {
     private final Stack<Scope> scopes = new Stack<>();
+    private final FrameLayout scriptFrame = new FrameLayout();
 
     public Scope peek() {
         return this.scopes.peek();
     }
 
     public void beginScope() {
-        this.scopes.push(new Scope());
+        FrameLayout frame = scopes.isEmpty() ? scriptFrame : scopes.peek().frame;
+        this.scopes.push(new Scope(frame));
     }
 
-    public void endScope() {
-        this.scopes.pop();
+    public void beginFunctionScope() {
+        this.scopes.push(new Scope(new FrameLayout()));
+    }
+
+    public int endScope() {
+        return this.scopes.pop().finish();
     }
 
     public boolean isEmpty() {
@@ -25,6 +35,10 @@ public class Scopes {
     }
 
     public void declare(Token name) {
+        declare(name, null);
+    }
+
+    public void declare(Token name, DeclarationStatement declaration) {
         if (scopes.isEmpty()) return;
 
         Scope scope = scopes.peek();
@@ -32,14 +46,51 @@ public class Scopes {
             Katana.error(name, "Already a variable with this name in this scope.");
         }
 
-        scope.put(name.rawText, false);
+        scope.put(name.rawText, declaration);
+    }
+
+    public void declareReceiver(String name) {
+        scopes.peek().putReceiver(name);
+    }
+
+    public void declareParameter(String name) {
+        scopes.peek().put(name, null).defined = true;
     }
 
     public void define(Token name) {
         if (scopes.isEmpty()) {
             return;
         }
-        scopes.peek().put(name.rawText, true);
+        scopes.peek().variable(name.rawText).defined = true;
+    }
+
+    public boolean resolve(ResolvableExpression expression, Token name) {
+        return resolve(expression, name.rawText);
+    }
+
+    public boolean resolve(ResolvableExpression expression, String name) {
+        List<Scope> crossed = new ArrayList<>();
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            Scope scope = scopes.get(i);
+            Variable variable = scope.variable(name);
+            if (variable != null) {
+                if (crossesFunction(crossed, scope)) {
+                    variable.captured = true;
+                }
+                variable.addReference(expression, crossed);
+                return true;
+            }
+            crossed.add(scope);
+        }
+        return false;
+    }
+
+    private boolean crossesFunction(List<Scope> crossed, Scope declaring) {
+        return !crossed.isEmpty() && crossed.get(0).frame != declaring.frame;
+    }
+
+    public int scriptFrameSize() {
+        return scriptFrame.size();
     }
 
     public int size() {
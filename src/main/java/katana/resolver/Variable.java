@@ -0,0 +1,57 @@
+package katana.resolver;
+
+import katana.model.Storage;
+import katana.model.expr.ResolvableExpression;
+import katana.model.stmt.DeclarationStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Variable {
+    private final DeclarationStatement declaration;
+    private final List<ResolvableExpression> references = new ArrayList<>();
+    private final List<List<Scope>> crossedScopes = new ArrayList<>();
+    final int frameSlot;
+    boolean defined = false;
+    boolean captured = false;
+    int environmentSlot = -1;
+
+    Variable(DeclarationStatement declaration, int frameSlot) {
+        this.declaration = declaration;
+        this.frameSlot = frameSlot;
+    }
+
+    void addReference(ResolvableExpression expression, List<Scope> crossed) {
+        references.add(expression);
+        crossedScopes.add(crossed);
+    }
+
+    void bind() {
+        if (declaration != null) {
+            declaration.storage = captured ? Storage.ENVIRONMENT : Storage.FRAME;
+            declaration.slot = captured ? environmentSlot : frameSlot;
+        }
+
+        for (int i = 0; i < references.size(); i++) {
+            ResolvableExpression expression = references.get(i);
+            if (captured) {
+                expression.storage = Storage.ENVIRONMENT;
+                expression.depth = environmentDepth(crossedScopes.get(i));
+                expression.slot = environmentSlot;
+            } else {
+                expression.storage = Storage.FRAME;
+                expression.slot = frameSlot;
+            }
+        }
+    }
+
+    private int environmentDepth(List<Scope> crossed) {
+        int depth = 0;
+        for (Scope scope : crossed) {
+            if (scope.createsEnvironment()) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,33 @@
+package katana.scanner;
+
+import java.io.Reader;
+
+class CharSequenceReader extends Reader {
+    private final CharSequence source;
+    private int index = 0;
+
+    CharSequenceReader(CharSequence source) {
+        this.source = source;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (index >= source.length()) {
+            return -1;
+        }
+        int count = Math.min(length, source.length() - index);
+        if (source instanceof String string) {
+            string.getChars(index, index + count, buffer, offset);
+        } else {
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = source.charAt(index + i);
+            }
+        }
+        index += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,63 @@
+package katana.scanner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+class MappedReader extends Reader {
+    private static final long WINDOW_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final long end;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private long windowStart;
+    private ByteBuffer window;
+    private boolean finished = false;
+
+    MappedReader(FileChannel channel, long position, long size) {
+        this.channel = channel;
+        this.windowStart = position;
+        this.end = position + size;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        CharBuffer out = CharBuffer.wrap(buffer, offset, length);
+        while (out.position() == offset && length > 0 && !finished) {
+            boolean last = map();
+            CoderResult result = decoder.decode(window, out, last);
+            if (result.isOverflow()) {
+                break;
+            }
+            if (last) {
+                decoder.flush(out);
+                finished = true;
+            } else {
+                windowStart += window.position();
+                window = null;
+            }
+        }
+        int count = out.position() - offset;
+        return count == 0 && finished ? -1 : count;
+    }
+
+    private boolean map() throws IOException {
+        if (window == null) {
+            long size = Math.min(WINDOW_SIZE, end - windowStart);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+        }
+        return windowStart + window.limit() == end;
+    }
+
+    @Override
+    public void close() {
+    }
+}
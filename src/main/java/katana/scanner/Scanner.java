@@ -1,9 +1,14 @@
 package katana.scanner;
 
 import katana.Katana;
+import katana.interpreter.Numbers;
 import katana.model.token.Token;
 import katana.model.token.TokenType;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,10 +17,16 @@ import java.util.Map;
 import static katana.model.token.TokenType.*;
 
 public class Scanner {
-    private final String source;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int index = 0;
+    private int limit = 0;
+    private boolean exhausted = false;
+    private final StringBuilder lexeme = new StringBuilder();
+    private final Map<String, String> names = new HashMap<>();
     private final List<Token> tokens = new ArrayList<>();
-    private int start = 0;
-    private int current = 0;
     private int line = 1;
     private int position = 1;
 
@@ -39,14 +50,22 @@ public class Scanner {
         keywords.put("extends", EXTENDS);
     }
 
-    public Scanner(String source) {
-        this.source = source;
+    public Scanner(CharSequence source) {
+        this(new CharSequenceReader(source));
+    }
+
+    public Scanner(Reader reader) {
+        this.reader = reader;
+    }
+
+    public Scanner(FileChannel channel, long position, long size) {
+        this(new MappedReader(channel, position, size));
     }
 
     public List<Token> scanTokens() {
         while (!isAtEnd()) {
+            lexeme.setLength(0);
             scanToken();
-            start = current;
         }
         endScanTokens();
         return tokens;
@@ -72,7 +91,7 @@ public class Scanner {
                 addToken(COMMA);
                 break;
             case '.':
-                addToken(DOT);
+                addToken(match('.') ? DOT_DOT : DOT);
                 break;
             case '-':
                 addToken(MINUS);
@@ -115,7 +134,7 @@ public class Scanner {
             case '/':
                 if (match('/')) {
                     while (peek() != '\n' && !isAtEnd()) {
-                        advance();
+                        skip();
                     }
                 } else {
                     addToken(SLASH);
@@ -154,7 +173,7 @@ public class Scanner {
             errorReport("Unterminated string");
             return;
         }
-        String value = source.substring(start + 1, current);
+        String value = lexeme.substring(1);
         advance();
         addToken(STRING, value);
     }
@@ -171,16 +190,16 @@ public class Scanner {
             }
         }
 
-        addToken(NUMBER, Double.parseDouble(source.substring(start, current)));
+        addToken(NUMBER, Numbers.valueOf(lexeme.toString()));
     }
 
     private void scanIdentifier() {
         while(isAlphaNumeric(peek())) advance();
 
-        String text = source.substring(start, current);
+        String text = names.computeIfAbsent(lexeme.toString(), name -> name);
         TokenType type = keywords.get(text);
         if (type == null) type = IDENTIFIER;
-        addToken(type);
+        tokens.add(new Token(type, text, null, line, position));
     }
 
     private boolean match(char expected) {
@@ -196,14 +215,14 @@ public class Scanner {
         if (isAtEnd()) {
             return '\0';
         }
-        return source.charAt(current);
+        return buffer[index];
     }
 
     private char peekNext() {
-        if (current + 1 >= source.length()) {
+        if (index + 1 >= limit && !fill(2)) {
             return '\0';
         }
-        return source.charAt(current + 1);
+        return buffer[index + 1];
     }
 
     private void addToken(TokenType type) {
@@ -211,7 +230,7 @@ public class Scanner {
     }
 
     private void addToken(TokenType type, Object javaLiteral) {
-        String rawText = source.substring(start, current);
+        String rawText = lexeme.toString();
         tokens.add(new Token(type, rawText, javaLiteral, line, position));
     }
 
@@ -220,12 +239,44 @@ public class Scanner {
     }
 
     private void advance() {
-        current++;
+        lexeme.append(buffer[index]);
+        skip();
+    }
+
+    private void skip() {
+        index++;
         position++;
     }
 
     private boolean isAtEnd() {
-        return current >= source.length();
+        return index >= limit && !fill(1);
+    }
+
+    private boolean fill(int needed) {
+        if (exhausted) {
+            return false;
+        }
+        int remaining = limit - index;
+        System.arraycopy(buffer, index, buffer, 0, remaining);
+        index = 0;
+        limit = remaining;
+        while (limit < needed) {
+            int count = read();
+            if (count < 0) {
+                exhausted = true;
+                return false;
+            }
+            limit += count;
+        }
+        return true;
+    }
+
+    private int read() {
+        try {
+            return reader.read(buffer, limit, buffer.length - limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private boolean isDigit(char c) {
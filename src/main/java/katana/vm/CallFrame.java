@@ -0,0 +1,9 @@
+package katana.vm;
+
+class CallFrame {
+    VmClosure closure;
+    int ip;
+    int base;
+    int returnSlot;
+    MemoHook memo;
+}
@@ -0,0 +1,637 @@
+package katana.vm;
+
+import katana.Katana;
+import katana.interpreter.GlobalEnvironment;
+import katana.model.expr.*;
+import katana.model.stmt.*;
+import katana.model.token.Token;
+import katana.model.token.TokenType;
+
+import java.util.List;
+
+class Compiler implements ExprVisitor<Void>, StmtVisitor<Void> {
+    private static final int MAX_LOCALS = 256;
+    private static final int MAX_UPVALUES = 256;
+    private static final int MAX_SHORT = 0xffff;
+
+    private final GlobalEnvironment globals;
+    private FunctionState current;
+    private Token lastToken;
+
+    private enum FunctionType {
+        SCRIPT, FUNCTION, METHOD, INITIALIZER
+    }
+
+    private static class Local {
+        final String name;
+        int depth;
+        boolean captured = false;
+
+        Local(String name, int depth) {
+            this.name = name;
+            this.depth = depth;
+        }
+    }
+
+    private static class FunctionState {
+        final FunctionState enclosing;
+        final VmFunction function;
+        final FunctionType type;
+        final Local[] locals = new Local[MAX_LOCALS];
+        int localCount = 0;
+        final int[] upvalueIndexes = new int[MAX_UPVALUES];
+        final boolean[] upvalueIsLocal = new boolean[MAX_UPVALUES];
+        int scopeDepth = 0;
+        int stackDepth = 1;
+
+        FunctionState(FunctionState enclosing, VmFunction function, FunctionType type) {
+            this.enclosing = enclosing;
+            this.function = function;
+            this.type = type;
+            String receiver = type == FunctionType.METHOD || type == FunctionType.INITIALIZER ? "this" : "";
+            locals[localCount++] = new Local(receiver, 0);
+        }
+    }
+
+    Compiler(GlobalEnvironment globals) {
+        this.globals = globals;
+    }
+
+    VmFunction compile(List<Statement> statements) {
+        current = new FunctionState(null, new VmFunction(null), FunctionType.SCRIPT);
+        for (Statement statement : statements) {
+            compile(statement);
+        }
+        emitReturn();
+        return current.function;
+    }
+
+    private void compile(Statement statement) {
+        statement.accept(this);
+    }
+
+    private void compile(Expression expression) {
+        expression.accept(this);
+    }
+
+    private Chunk chunk() {
+        return current.function.chunk;
+    }
+
+    private void emit(byte op, Token token) {
+        emitByte(op, token);
+        adjustStack(OpCode.stackEffect(op));
+    }
+
+    private void adjustStack(int effect) {
+        current.stackDepth += effect;
+        if (current.stackDepth > current.function.maxStack) {
+            current.function.maxStack = current.stackDepth;
+        }
+    }
+
+    private void emitByte(int value, Token token) {
+        if (token != null) {
+            lastToken = token;
+        }
+        chunk().write(value, token);
+    }
+
+    private void error(Token token, String message) {
+        Katana.error(token != null ? token : lastToken, message);
+    }
+
+    private void emitShort(byte op, int operand, Token token) {
+        emit(op, token);
+        emitByte((operand >> 8) & 0xff, token);
+        emitByte(operand & 0xff, token);
+    }
+
+    private int makeConstant(Object value, Token token) {
+        int index = chunk().addConstant(value);
+        if (index > MAX_SHORT) {
+            error(token, "Too many constants in one chunk.");
+            return 0;
+        }
+        return index;
+    }
+
+    private int emitJump(byte op, Token token) {
+        emitShort(op, 0xffff, token);
+        return chunk().count - 2;
+    }
+
+    private void patchJump(int offset, Token token) {
+        int jump = chunk().count - offset - 2;
+        if (jump > MAX_SHORT) {
+            error(token, "Too much code to jump over.");
+        }
+        chunk().code[offset] = (byte) ((jump >> 8) & 0xff);
+        chunk().code[offset + 1] = (byte) (jump & 0xff);
+    }
+
+    private void emitLoop(int loopStart, Token token) {
+        emit(OpCode.LOOP, token);
+        int offset = chunk().count - loopStart + 2;
+        if (offset > MAX_SHORT) {
+            error(token, "Loop body too large.");
+        }
+        emitByte((offset >> 8) & 0xff, token);
+        emitByte(offset & 0xff, token);
+    }
+
+    private void emitReturn() {
+        if (current.type == FunctionType.INITIALIZER) {
+            emit(OpCode.GET_LOCAL, null);
+            emitByte(0, null);
+        } else {
+            emit(OpCode.NULL, null);
+        }
+        emit(OpCode.RETURN, null);
+    }
+
+    private void beginScope() {
+        current.scopeDepth++;
+    }
+
+    private void endScope() {
+        current.scopeDepth--;
+        while (current.localCount > 0 && current.locals[current.localCount - 1].depth > current.scopeDepth) {
+            if (current.locals[current.localCount - 1].captured) {
+                emit(OpCode.CLOSE_UPVALUE, null);
+            } else {
+                emit(OpCode.POP, null);
+            }
+            current.localCount--;
+        }
+    }
+
+    private void addLocal(String name, Token token) {
+        if (current.localCount == MAX_LOCALS) {
+            error(token, "Too many local variables in function.");
+            return;
+        }
+        current.locals[current.localCount++] = new Local(name, -1);
+    }
+
+    private void markInitialized() {
+        current.locals[current.localCount - 1].depth = current.scopeDepth;
+    }
+
+    private boolean isLocalScope() {
+        return current.scopeDepth > 0;
+    }
+
+    private void declareVariable(Token name) {
+        if (isLocalScope()) {
+            addLocal(name.rawText, name);
+        }
+    }
+
+    private void defineVariable(Token name) {
+        if (isLocalScope()) {
+            markInitialized();
+            return;
+        }
+        emitShort(OpCode.DEFINE_GLOBAL, globalIndex(name), name);
+    }
+
+    private int globalIndex(Token name) {
+        int index = globals.intern(name.rawText).index;
+        if (index > MAX_SHORT) {
+            Katana.error(name, "Too many global variables.");
+            return 0;
+        }
+        return index;
+    }
+
+    private int resolveLocal(FunctionState state, String name) {
+        for (int i = state.localCount - 1; i >= 0; i--) {
+            if (state.locals[i].name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int resolveUpvalue(FunctionState state, String name, Token token) {
+        if (state.enclosing == null) {
+            return -1;
+        }
+
+        int local = resolveLocal(state.enclosing, name);
+        if (local != -1) {
+            state.enclosing.locals[local].captured = true;
+            return addUpvalue(state, local, true, token);
+        }
+
+        int upvalue = resolveUpvalue(state.enclosing, name, token);
+        if (upvalue != -1) {
+            return addUpvalue(state, upvalue, false, token);
+        }
+
+        return -1;
+    }
+
+    private int addUpvalue(FunctionState state, int index, boolean isLocal, Token token) {
+        int count = state.function.upvalueCount;
+        for (int i = 0; i < count; i++) {
+            if (state.upvalueIndexes[i] == index && state.upvalueIsLocal[i] == isLocal) {
+                return i;
+            }
+        }
+
+        if (count == MAX_UPVALUES) {
+            error(token, "Too many closure variables in function.");
+            return 0;
+        }
+
+        state.upvalueIndexes[count] = index;
+        state.upvalueIsLocal[count] = isLocal;
+        return state.function.upvalueCount++;
+    }
+
+    private void getVariable(String name, Token token) {
+        int slot = resolveLocal(current, name);
+        if (slot != -1) {
+            emit(OpCode.GET_LOCAL, token);
+            emitByte(slot, token);
+            return;
+        }
+        slot = resolveUpvalue(current, name, token);
+        if (slot != -1) {
+            emit(OpCode.GET_UPVALUE, token);
+            emitByte(slot, token);
+            return;
+        }
+        emitShort(OpCode.GET_GLOBAL, globalIndex(token), token);
+    }
+
+    private void setVariable(String name, Token token) {
+        int slot = resolveLocal(current, name);
+        if (slot != -1) {
+            emit(OpCode.SET_LOCAL, token);
+            emitByte(slot, token);
+            return;
+        }
+        slot = resolveUpvalue(current, name, token);
+        if (slot != -1) {
+            emit(OpCode.SET_UPVALUE, token);
+            emitByte(slot, token);
+            return;
+        }
+        emitShort(OpCode.SET_GLOBAL, globalIndex(token), token);
+    }
+
+    private void function(FunctionStatement stmt, FunctionType type) {
+        FunctionState state = new FunctionState(current, new VmFunction(stmt.name.rawText), type);
+        current = state;
+        beginScope();
+
+        for (Token param : stmt.params) {
+            state.function.arity++;
+            addLocal(param.rawText, param);
+            markInitialized();
+        }
+        for (Statement statement : stmt.body) {
+            compile(statement);
+        }
+        emitReturn();
+
+        current = state.enclosing;
+        emitShort(OpCode.CLOSURE, makeConstant(state.function, stmt.name), stmt.name);
+        for (int i = 0; i < state.function.upvalueCount; i++) {
+            emitByte(state.upvalueIsLocal[i] ? 1 : 0, stmt.name);
+            emitByte(state.upvalueIndexes[i], stmt.name);
+        }
+    }
+
+    private void emitArguments(CallExpression expr) {
+        for (Expression argument : expr.arguments) {
+            compile(argument);
+        }
+    }
+
+    @Override
+    public Void visitAssignExpr(AssignExpression expr) {
+        compile(expr.value);
+        setVariable(expr.name.rawText, expr.name);
+        return null;
+    }
+
+    @Override
+    public Void visitBinaryExpr(BinaryExpression expr) {
+        compile(expr.left);
+        compile(expr.right);
+
+        switch (expr.operator.type) {
+            case GREATER -> emit(OpCode.GREATER, expr.operator);
+            case GREATER_EQUAL -> emit(OpCode.GREATER_EQUAL, expr.operator);
+            case LESS -> emit(OpCode.LESS, expr.operator);
+            case LESS_EQUAL -> emit(OpCode.LESS_EQUAL, expr.operator);
+            case BANG_EQUAL -> emit(OpCode.NOT_EQUAL, expr.operator);
+            case EQUAL_EQUAL -> emit(OpCode.EQUAL, expr.operator);
+            case MINUS -> emit(OpCode.SUBTRACT, expr.operator);
+            case PLUS -> emit(OpCode.ADD, expr.operator);
+            case SLASH -> emit(OpCode.DIVIDE, expr.operator);
+            case STAR -> emit(OpCode.MULTIPLY, expr.operator);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitCallExpr(CallExpression expr) {
+        call(expr, false);
+        return null;
+    }
+
+    private void call(CallExpression expr, boolean tail) {
+        if (expr.callee instanceof GetExpression get) {
+            compile(get.object);
+            emitShort(OpCode.GET_METHOD, makeConstant(get.name.rawText, get.name), get.name);
+            emitArguments(expr);
+            emit(tail ? OpCode.TAIL_CALL_METHOD : OpCode.CALL_METHOD, expr.paren);
+        } else if (expr.callee instanceof SuperExpression superExpression) {
+            getVariable("this", superExpression.keyword);
+            getVariable("super", superExpression.keyword);
+            emitShort(OpCode.GET_SUPER_METHOD, makeConstant(superExpression.method.rawText, superExpression.method), superExpression.method);
+            emitArguments(expr);
+            emit(tail ? OpCode.TAIL_CALL_METHOD : OpCode.CALL_METHOD, expr.paren);
+        } else {
+            compile(expr.callee);
+            emitArguments(expr);
+            emit(tail ? OpCode.TAIL_CALL : OpCode.CALL, expr.paren);
+        }
+        emitByte(expr.arguments.size(), expr.paren);
+        adjustStack(-expr.arguments.size() - (expr.callee instanceof GetExpression || expr.callee instanceof SuperExpression ? 1 : 0));
+    }
+
+    @Override
+    public Void visitGetExpr(GetExpression expr) {
+        compile(expr.object);
+        emitShort(OpCode.GET_PROPERTY, makeConstant(expr.name.rawText, expr.name), expr.name);
+        return null;
+    }
+
+    @Override
+    public Void visitGroupingExpr(GroupingExpression expr) {
+        compile(expr.expression);
+        return null;
+    }
+
+    @Override
+    public Void visitLiteralExpr(LiteralExpression expr) {
+        if (expr.value == null) {
+            emit(OpCode.NULL, null);
+        } else if (expr.value.equals(Boolean.TRUE)) {
+            emit(OpCode.TRUE, null);
+        } else if (expr.value.equals(Boolean.FALSE)) {
+            emit(OpCode.FALSE, null);
+        } else {
+            emitShort(OpCode.CONSTANT, makeConstant(expr.value, null), null);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitLogicalExpr(LogicalExpression expr) {
+        compile(expr.left);
+
+        if (expr.operator.type == TokenType.OR) {
+            int elseJump = emitJump(OpCode.JUMP_IF_FALSE, expr.operator);
+            int endJump = emitJump(OpCode.JUMP, expr.operator);
+            patchJump(elseJump, expr.operator);
+            emit(OpCode.POP, expr.operator);
+            compile(expr.right);
+            patchJump(endJump, expr.operator);
+        } else {
+            int endJump = emitJump(OpCode.JUMP_IF_FALSE, expr.operator);
+            emit(OpCode.POP, expr.operator);
+            compile(expr.right);
+            patchJump(endJump, expr.operator);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitSetExpr(SetExpression expr) {
+        compile(expr.object);
+        compile(expr.value);
+        emitShort(OpCode.SET_PROPERTY, makeConstant(expr.name.rawText, expr.name), expr.name);
+        return null;
+    }
+
+    @Override
+    public Void visitSuperExpr(SuperExpression expr) {
+        getVariable("this", expr.keyword);
+        getVariable("super", expr.keyword);
+        emitShort(OpCode.GET_SUPER, makeConstant(expr.method.rawText, expr.method), expr.method);
+        return null;
+    }
+
+    @Override
+    public Void visitThisExpr(ThisExpression expr) {
+        getVariable("this", expr.keyword);
+        return null;
+    }
+
+    @Override
+    public Void visitUnaryExpr(UnaryExpression expr) {
+        compile(expr.right);
+        switch (expr.operator.type) {
+            case MINUS -> emit(OpCode.NEGATE, expr.operator);
+            case BANG -> emit(OpCode.NOT, expr.operator);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitVariableExpr(VariableExpression expr) {
+        getVariable(expr.name.rawText, expr.name);
+        return null;
+    }
+
+    @Override
+    public Void visitBlockStmt(BlockStatement stmt) {
+        beginScope();
+        for (Statement statement : stmt.statements) {
+            compile(statement);
+        }
+        endScope();
+        return null;
+    }
+
+    @Override
+    public Void visitClassStmt(ClassStatement stmt) {
+        emitShort(OpCode.CLASS, makeConstant(stmt.name.rawText, stmt.name), stmt.name);
+        declareVariable(stmt.name);
+        defineVariable(stmt.name);
+
+        if (stmt.superClass != null) {
+            getVariable(stmt.superClass.name.rawText, stmt.superClass.name);
+            beginScope();
+            addLocal("super", stmt.superClass.name);
+            markInitialized();
+
+            getVariable(stmt.name.rawText, stmt.name);
+            emit(OpCode.INHERIT, stmt.superClass.name);
+        }
+
+        getVariable(stmt.name.rawText, stmt.name);
+        for (FunctionStatement method : stmt.methods) {
+            FunctionType type = method.name.rawText.equals("constructor") ? FunctionType.INITIALIZER : FunctionType.METHOD;
+            function(method, type);
+            emitShort(OpCode.METHOD, makeConstant(method.name.rawText, method.name), method.name);
+        }
+        emit(OpCode.POP, stmt.name);
+
+        if (stmt.superClass != null) {
+            endScope();
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitExpressionStmt(ExpressionStatement stmt) {
+        if (stmt.expression instanceof AssignExpression assign) {
+            int slot = resolveLocal(current, assign.name.rawText);
+            if (slot != -1) {
+                compile(assign.value);
+                emit(OpCode.STORE_LOCAL, assign.name);
+                emitByte(slot, assign.name);
+                return null;
+            }
+        }
+        compile(stmt.expression);
+        emit(OpCode.POP, null);
+        return null;
+    }
+
+    @Override
+    public Void visitFunctionStmt(FunctionStatement stmt) {
+        declareVariable(stmt.name);
+        if (isLocalScope()) {
+            markInitialized();
+        }
+        function(stmt, FunctionType.FUNCTION);
+        defineVariable(stmt.name);
+        return null;
+    }
+
+    @Override
+    public Void visitIfStmt(IfStatement stmt) {
+        compile(stmt.condition);
+        int thenJump = emitJump(OpCode.POP_JUMP_IF_FALSE, null);
+        compile(stmt.thenBranch);
+
+        if (stmt.elseBranch == null) {
+            patchJump(thenJump, null);
+            return null;
+        }
+        int elseJump = emitJump(OpCode.JUMP, null);
+        patchJump(thenJump, null);
+        compile(stmt.elseBranch);
+        patchJump(elseJump, null);
+        return null;
+    }
+
+    @Override
+    public Void visitPrintStmt(PrintStatement stmt) {
+        compile(stmt.expression);
+        emit(OpCode.PRINT, null);
+        return null;
+    }
+
+    @Override
+    public Void visitRangeStmt(RangeStatement stmt) {
+        beginScope();
+        int counter = current.localCount;
+        compile(stmt.start);
+        addHiddenLocal(" counter", stmt.operator);
+        compile(stmt.end);
+        addHiddenLocal(" end", stmt.operator);
+        compile(stmt.step);
+        addHiddenLocal(" step", stmt.operator);
+
+        int flags = stmt.inclusive ? 1 : 0;
+        emitRangeHeader(OpCode.RANGE_ENTER, counter, flags, stmt.operator);
+        int exitJump = chunk().count;
+        emitByte(0xff, stmt.operator);
+        emitByte(0xff, stmt.operator);
+
+        int loopStart = chunk().count;
+        beginScope();
+        emit(OpCode.GET_LOCAL, stmt.name);
+        emitByte(counter, stmt.name);
+        addHiddenLocal(stmt.name.rawText, stmt.name);
+        compile(stmt.body);
+        endScope();
+
+        if (!stmt.fixedEnd) {
+            compile(stmt.end);
+            emit(OpCode.STORE_LOCAL, stmt.operator);
+            emitByte(counter + 1, stmt.operator);
+        }
+        emitRangeHeader(OpCode.RANGE_LOOP, counter, flags, stmt.operator);
+        int offset = chunk().count - loopStart + 2;
+        if (offset > MAX_SHORT) {
+            error(stmt.operator, "Loop body too large.");
+        }
+        emitByte((offset >> 8) & 0xff, stmt.operator);
+        emitByte(offset & 0xff, stmt.operator);
+
+        patchJump(exitJump, stmt.operator);
+        endScope();
+        return null;
+    }
+
+    private void addHiddenLocal(String name, Token token) {
+        addLocal(name, token);
+        markInitialized();
+    }
+
+    private void emitRangeHeader(byte op, int counter, int flags, Token token) {
+        emit(op, token);
+        emitByte(counter, token);
+        emitByte(flags, token);
+    }
+
+    @Override
+    public Void visitReturnStmt(ReturnStatement stmt) {
+        if (stmt.value == null) {
+            emitReturn();
+        } else if (stmt.tailCall) {
+            call((CallExpression) stmt.value, true);
+            emit(OpCode.RETURN, stmt.keyword);
+        } else {
+            compile(stmt.value);
+            emit(OpCode.RETURN, stmt.keyword);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitVarStmt(VarStatement stmt) {
+        declareVariable(stmt.name);
+        if (stmt.initializer != null) {
+            compile(stmt.initializer);
+        } else {
+            emit(OpCode.NULL, null);
+        }
+        defineVariable(stmt.name);
+        return null;
+    }
+
+    @Override
+    public Void visitWhileStmt(WhileStatement stmt) {
+        int loopStart = chunk().count;
+        compile(stmt.condition);
+
+        int exitJump = emitJump(OpCode.POP_JUMP_IF_FALSE, null);
+        compile(stmt.body);
+        emitLoop(loopStart, null);
+
+        patchJump(exitJump, null);
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package katana.vm;
+
+import katana.interpreter.GlobalEnvironment;
+import katana.model.token.Token;
+import katana.model.token.TokenType;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class ImageReader {
+    private Token[] tokens;
+
+    VmFunction read(InputStream stream, GlobalEnvironment globals) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != ImageWriter.MAGIC) {
+            throw new IOException("Not a Katana image.");
+        }
+
+        int globalCount = readVarInt(in);
+        for (int i = 0; i < globalCount; i++) {
+            if (globals.intern(readString(in)).index != i) {
+                throw new IOException("Image globals do not match this virtual machine.");
+            }
+        }
+
+        tokens = new Token[readVarInt(in)];
+        for (int i = 0; i < tokens.length; i++) {
+            TokenType type = TokenType.values()[in.readUnsignedByte()];
+            String rawText = readString(in);
+            tokens[i] = new Token(type, rawText, null, readVarInt(in), readVarInt(in));
+        }
+
+        return readFunction(in);
+    }
+
+    private VmFunction readFunction(DataInputStream in) throws IOException {
+        VmFunction function = new VmFunction(in.readBoolean() ? readString(in) : null);
+        function.arity = readVarInt(in);
+        function.upvalueCount = readVarInt(in);
+        function.maxStack = readVarInt(in);
+
+        Chunk chunk = function.chunk;
+        int count = readVarInt(in);
+        chunk.code = new byte[count];
+        in.readFully(chunk.code);
+        chunk.tokens = new Token[count];
+        int filled = 0;
+        while (filled < count) {
+            int run = readVarInt(in);
+            int index = readVarInt(in);
+            Arrays.fill(chunk.tokens, filled, filled + run, index == 0 ? null : tokens[index - 1]);
+            filled += run;
+        }
+        chunk.count = count;
+
+        int constantCount = readVarInt(in);
+        chunk.constants = new Object[Math.max(constantCount, 1)];
+        for (int i = 0; i < constantCount; i++) {
+            chunk.constants[i] = switch (in.readByte()) {
+                case ImageWriter.NUMBER -> in.readDouble();
+                case ImageWriter.INTEGER -> {
+                    long value = readVarLong(in);
+                    yield (value >>> 1) ^ -(value & 1);
+                }
+                case ImageWriter.STRING -> readString(in);
+                case ImageWriter.FUNCTION -> readFunction(in);
+                default -> throw new IOException("Corrupt constant in Katana image.");
+            };
+        }
+        chunk.constantCount = constantCount;
+        return function;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int next;
+        do {
+            next = in.readUnsignedByte();
+            value |= (next & 0x7f) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+        return value;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int next;
+        do {
+            next = in.readUnsignedByte();
+            value |= (long) (next & 0x7f) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+        return value;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
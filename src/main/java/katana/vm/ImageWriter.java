@@ -0,0 +1,133 @@
+package katana.vm;
+
+import katana.interpreter.GlobalEnvironment;
+import katana.model.token.Token;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ImageWriter {
+    static final int MAGIC = 0x4b424332;
+
+    static final byte NUMBER = 0;
+    static final byte STRING = 1;
+    static final byte FUNCTION = 2;
+    static final byte INTEGER = 3;
+
+    private final Map<Token, Integer> tokenIndex = new IdentityHashMap<>();
+    private final List<Token> tokens = new ArrayList<>();
+
+    void write(VmFunction script, GlobalEnvironment globals, OutputStream stream) throws IOException {
+        collectTokens(script);
+
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+
+        writeVarInt(out, globals.size());
+        for (int i = 0; i < globals.size(); i++) {
+            writeString(out, globals.get(i).name);
+        }
+
+        writeVarInt(out, tokens.size());
+        for (Token token : tokens) {
+            out.writeByte(token.type.ordinal());
+            writeString(out, token.rawText);
+            writeVarInt(out, token.line);
+            writeVarInt(out, token.position);
+        }
+
+        writeFunction(out, script);
+        out.flush();
+    }
+
+    private void collectTokens(VmFunction function) {
+        Chunk chunk = function.chunk;
+        for (int i = 0; i < chunk.count; i++) {
+            Token token = chunk.tokens[i];
+            if (token != null && !tokenIndex.containsKey(token)) {
+                tokenIndex.put(token, tokens.size());
+                tokens.add(token);
+            }
+        }
+        for (int i = 0; i < chunk.constantCount; i++) {
+            if (chunk.constants[i] instanceof VmFunction nested) {
+                collectTokens(nested);
+            }
+        }
+    }
+
+    private void writeFunction(DataOutputStream out, VmFunction function) throws IOException {
+        out.writeBoolean(function.name != null);
+        if (function.name != null) {
+            writeString(out, function.name);
+        }
+        writeVarInt(out, function.arity);
+        writeVarInt(out, function.upvalueCount);
+        writeVarInt(out, function.maxStack);
+
+        Chunk chunk = function.chunk;
+        writeVarInt(out, chunk.count);
+        out.write(chunk.code, 0, chunk.count);
+        writeTokenRuns(out, chunk);
+
+        writeVarInt(out, chunk.constantCount);
+        for (int i = 0; i < chunk.constantCount; i++) {
+            Object constant = chunk.constants[i];
+            if (constant instanceof Double number) {
+                out.writeByte(NUMBER);
+                out.writeDouble(number);
+            } else if (constant instanceof Long number) {
+                out.writeByte(INTEGER);
+                writeVarLong(out, (number << 1) ^ (number >> 63));
+            } else if (constant instanceof String string) {
+                out.writeByte(STRING);
+                writeString(out, string);
+            } else {
+                out.writeByte(FUNCTION);
+                writeFunction(out, (VmFunction) constant);
+            }
+        }
+    }
+
+    private void writeTokenRuns(DataOutputStream out, Chunk chunk) throws IOException {
+        int start = 0;
+        while (start < chunk.count) {
+            Token token = chunk.tokens[start];
+            int end = start + 1;
+            while (end < chunk.count && chunk.tokens[end] == token) {
+                end++;
+            }
+            writeVarInt(out, end - start);
+            writeVarInt(out, token == null ? 0 : tokenIndex.get(token) + 1);
+            start = end;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+}
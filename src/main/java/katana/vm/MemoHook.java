@@ -0,0 +1,21 @@
+package katana.vm;
+
+import katana.interpreter.library.MemoizedFunction;
+
+class MemoHook {
+    private final MemoizedFunction memo;
+    private final Object key;
+    private final MemoHook next;
+
+    MemoHook(MemoizedFunction memo, Object key, MemoHook next) {
+        this.memo = memo;
+        this.key = key;
+        this.next = next;
+    }
+
+    void store(Object result) {
+        for (MemoHook hook = this; hook != null; hook = hook.next) {
+            hook.memo.store(hook.key, result);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package katana.vm;
+
+final class OpCode {
+    static final byte CONSTANT = 0;
+    static final byte NULL = 1;
+    static final byte TRUE = 2;
+    static final byte FALSE = 3;
+    static final byte POP = 4;
+    static final byte GET_LOCAL = 5;
+    static final byte SET_LOCAL = 6;
+    static final byte GET_GLOBAL = 7;
+    static final byte DEFINE_GLOBAL = 8;
+    static final byte SET_GLOBAL = 9;
+    static final byte GET_UPVALUE = 10;
+    static final byte SET_UPVALUE = 11;
+    static final byte GET_PROPERTY = 12;
+    static final byte SET_PROPERTY = 13;
+    static final byte GET_METHOD = 14;
+    static final byte GET_SUPER = 15;
+    static final byte GET_SUPER_METHOD = 16;
+    static final byte EQUAL = 17;
+    static final byte NOT_EQUAL = 18;
+    static final byte GREATER = 19;
+    static final byte GREATER_EQUAL = 20;
+    static final byte LESS = 21;
+    static final byte LESS_EQUAL = 22;
+    static final byte ADD = 23;
+    static final byte SUBTRACT = 24;
+    static final byte MULTIPLY = 25;
+    static final byte DIVIDE = 26;
+    static final byte NOT = 27;
+    static final byte NEGATE = 28;
+    static final byte PRINT = 29;
+    static final byte JUMP = 30;
+    static final byte JUMP_IF_FALSE = 31;
+    static final byte LOOP = 32;
+    static final byte CALL = 33;
+    static final byte CALL_METHOD = 34;
+    static final byte CLOSURE = 35;
+    static final byte CLOSE_UPVALUE = 36;
+    static final byte RETURN = 37;
+    static final byte CLASS = 38;
+    static final byte INHERIT = 39;
+    static final byte METHOD = 40;
+    static final byte STORE_LOCAL = 41;
+    static final byte POP_JUMP_IF_FALSE = 42;
+    static final byte TAIL_CALL = 43;
+    static final byte TAIL_CALL_METHOD = 44;
+    static final byte RANGE_ENTER = 45;
+    static final byte RANGE_LOOP = 46;
+
+    private OpCode() {
+    }
+
+    static int stackEffect(byte op) {
+        return switch (op) {
+            case CONSTANT, NULL, TRUE, FALSE, GET_LOCAL, GET_GLOBAL, GET_UPVALUE, GET_METHOD, CLOSURE, CLASS -> 1;
+            case POP, DEFINE_GLOBAL, SET_PROPERTY, GET_SUPER, EQUAL, NOT_EQUAL, GREATER, GREATER_EQUAL, LESS,
+                    LESS_EQUAL, ADD, SUBTRACT, MULTIPLY, DIVIDE, PRINT, CLOSE_UPVALUE, RETURN, INHERIT, METHOD, STORE_LOCAL,
+                    POP_JUMP_IF_FALSE -> -1;
+            default -> 0;
+        };
+    }
+}
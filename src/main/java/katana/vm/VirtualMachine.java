@@ -0,0 +1,608 @@
+package katana.vm;
+
+import katana.Katana;
+import katana.interpreter.GlobalEnvironment;
+import katana.interpreter.KatanaCallable;
+import katana.interpreter.Numbers;
+import katana.interpreter.Output;
+import katana.interpreter.RuntimeError;
+import katana.interpreter.StreamOutput;
+import katana.interpreter.Strings;
+import katana.interpreter.Values;
+import katana.interpreter.library.Clock;
+import katana.interpreter.library.Memo;
+import katana.interpreter.library.MemoStatistic;
+import katana.interpreter.library.MemoizedFunction;
+import katana.model.stmt.Statement;
+import katana.model.token.Token;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+public class VirtualMachine {
+    private static final int FRAMES_MAX = 100_000;
+    private static final Object NO_RECEIVER = new Object();
+
+    private final GlobalEnvironment globals = new GlobalEnvironment();
+    private Object[] stack = new Object[1024];
+    private int stackTop = 0;
+    private CallFrame[] frames = new CallFrame[64];
+    private int frameCount = 0;
+    private VmUpvalue openUpvalues = null;
+    private Output output = new StreamOutput(System.out, StreamOutput.Flush.EVERY_LINE);
+
+    public VirtualMachine() {
+        globals.define("clock", new Clock());
+        globals.define("memo", new Memo(VirtualMachine::isCallable));
+        globals.define("memoHits", new MemoStatistic("memoHits", MemoStatistic.Counter.HITS));
+        globals.define("memoMisses", new MemoStatistic("memoMisses", MemoStatistic.Counter.MISSES));
+        globals.define("memoEvictions", new MemoStatistic("memoEvictions", MemoStatistic.Counter.EVICTIONS));
+    }
+
+    public void setOutput(Output output) {
+        this.output = output;
+    }
+
+    public void interpret(List<Statement> statements) {
+        VmFunction script = new Compiler(globals).compile(statements);
+        interpret(script);
+    }
+
+    public void interpret(InputStream image) throws IOException {
+        interpret(new ImageReader().read(image, globals));
+    }
+
+    public void compile(List<Statement> statements, OutputStream image) throws IOException {
+        VmFunction script = new Compiler(globals).compile(statements);
+        new ImageWriter().write(script, globals, image);
+    }
+
+    public static boolean isImage(byte[] bytes) {
+        if (bytes.length < 4) {
+            return false;
+        }
+        int magic = ((bytes[0] & 0xff) << 24) | ((bytes[1] & 0xff) << 16) | ((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff);
+        return magic == ImageWriter.MAGIC;
+    }
+
+    void interpret(VmFunction script) {
+        VmClosure closure = new VmClosure(script);
+        try {
+            ensureStack(script.maxStack);
+            stack[stackTop++] = closure;
+            callClosure(closure, 0, 0, null);
+            run();
+        } catch (RuntimeError error) {
+            unwind(error);
+            output.flush();
+            Katana.runtimeError(error);
+        } finally {
+            output.flush();
+            resetStack();
+        }
+    }
+
+    private void unwind(RuntimeError error) {
+        for (int i = frameCount - 1; i >= 0; i--) {
+            CallFrame frame = frames[i];
+            if (i < frameCount - 1) {
+                error.calledFrom(token(frame, frame.ip - 1));
+            }
+            String name = frame.closure.function.name;
+            error.unwind(name == null ? "script" : name);
+        }
+    }
+
+    private void resetStack() {
+        Arrays.fill(stack, null);
+        stackTop = 0;
+        frameCount = 0;
+        openUpvalues = null;
+    }
+
+    private void ensureStack(int size) {
+        if (size > stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(size, stack.length * 2));
+        }
+    }
+
+    private void run() {
+        CallFrame frame = frames[frameCount - 1];
+        byte[] code = frame.closure.function.chunk.code;
+        Object[] constants = frame.closure.function.chunk.constants;
+        Object[] stack = this.stack;
+        int ip = frame.ip;
+        int base = frame.base;
+        int sp = stackTop;
+
+        while (true) {
+            int start = ip;
+            byte instruction = code[ip++];
+            switch (instruction) {
+                case OpCode.CONSTANT -> {
+                    stack[sp++] = constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                }
+                case OpCode.NULL -> stack[sp++] = null;
+                case OpCode.TRUE -> stack[sp++] = true;
+                case OpCode.FALSE -> stack[sp++] = false;
+                case OpCode.POP -> sp--;
+                case OpCode.GET_LOCAL -> stack[sp++] = stack[base + (code[ip++] & 0xff)];
+                case OpCode.SET_LOCAL -> stack[base + (code[ip++] & 0xff)] = stack[sp - 1];
+                case OpCode.STORE_LOCAL -> stack[base + (code[ip++] & 0xff)] = stack[--sp];
+                case OpCode.GET_GLOBAL -> {
+                    int index = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2;
+                    stack[sp++] = globals.get(index).get(token(frame, start));
+                }
+                case OpCode.DEFINE_GLOBAL -> {
+                    int index = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2;
+                    globals.get(index).define(stack[--sp]);
+                }
+                case OpCode.SET_GLOBAL -> {
+                    int index = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2;
+                    globals.get(index).assign(token(frame, start), stack[sp - 1]);
+                }
+                case OpCode.GET_UPVALUE -> {
+                    VmUpvalue upvalue = frame.closure.upvalues[code[ip++] & 0xff];
+                    stack[sp++] = upvalue.open ? stack[upvalue.slot] : upvalue.closed;
+                }
+                case OpCode.SET_UPVALUE -> {
+                    VmUpvalue upvalue = frame.closure.upvalues[code[ip++] & 0xff];
+                    if (upvalue.open) {
+                        stack[upvalue.slot] = stack[sp - 1];
+                    } else {
+                        upvalue.closed = stack[sp - 1];
+                    }
+                }
+                case OpCode.GET_PROPERTY -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmInstance instance = instanceForProperty(stack[sp - 1], frame, start);
+                    int slot = instance.shape.indexOf(name);
+                    if (slot >= 0) {
+                        stack[sp - 1] = instance.values[slot];
+                    } else {
+                        stack[sp - 1] = new VmBoundMethod(instance, findMethod(instance.klass, name, frame, start));
+                    }
+                }
+                case OpCode.SET_PROPERTY -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    if (!(stack[sp - 2] instanceof VmInstance instance)) {
+                        throw new RuntimeError(token(frame, start), "Only instances have fields.");
+                    }
+                    Object value = stack[--sp];
+                    instance.set(name, value);
+                    stack[sp - 1] = value;
+                }
+                case OpCode.GET_METHOD -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmInstance instance = instanceForProperty(stack[sp - 1], frame, start);
+                    int slot = instance.shape.indexOf(name);
+                    if (slot >= 0) {
+                        stack[sp - 1] = instance.values[slot];
+                        stack[sp++] = NO_RECEIVER;
+                    } else {
+                        stack[sp - 1] = findMethod(instance.klass, name, frame, start);
+                        stack[sp++] = instance;
+                    }
+                }
+                case OpCode.GET_SUPER -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmClosure method = findMethod((VmClass) stack[--sp], name, frame, start);
+                    stack[sp - 1] = new VmBoundMethod(stack[sp - 1], method);
+                }
+                case OpCode.GET_SUPER_METHOD -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmClosure method = findMethod((VmClass) stack[sp - 1], name, frame, start);
+                    stack[sp - 1] = stack[sp - 2];
+                    stack[sp - 2] = method;
+                }
+                case OpCode.EQUAL -> {
+                    sp--;
+                    stack[sp - 1] = Values.isEqual(stack[sp - 1], stack[sp]);
+                }
+                case OpCode.NOT_EQUAL -> {
+                    sp--;
+                    stack[sp - 1] = !Values.isEqual(stack[sp - 1], stack[sp]);
+                }
+                case OpCode.GREATER -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.less(b, a);
+                }
+                case OpCode.GREATER_EQUAL -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.lessEqual(b, a);
+                }
+                case OpCode.LESS -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.less(a, b);
+                }
+                case OpCode.LESS_EQUAL -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.lessEqual(a, b);
+                }
+                case OpCode.ADD -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (Numbers.isNumber(a) && Numbers.isNumber(b)) {
+                        stack[sp - 1] = Numbers.add(a, b);
+                    } else if (Strings.isString(a) && Strings.isString(b)) {
+                        stack[sp - 1] = Strings.concat(a, b);
+                    } else {
+                        throw new RuntimeError(token(frame, start), "Operand must be two numbers or two strings.");
+                    }
+                }
+                case OpCode.SUBTRACT -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.subtract(a, b);
+                }
+                case OpCode.MULTIPLY -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.multiply(a, b);
+                }
+                case OpCode.DIVIDE -> {
+                    Object b = stack[--sp];
+                    Object a = stack[sp - 1];
+                    if (!Numbers.isNumber(a) || !Numbers.isNumber(b)) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[sp - 1] = Numbers.divide(a, b);
+                }
+                case OpCode.NOT -> stack[sp - 1] = !Values.isTruthy(stack[sp - 1]);
+                case OpCode.NEGATE -> {
+                    if (!Numbers.isNumber(stack[sp - 1])) {
+                        throw new RuntimeError(token(frame, start), "Operand must be a number");
+                    }
+                    stack[sp - 1] = Numbers.negate(stack[sp - 1]);
+                }
+                case OpCode.PRINT -> output.println(stack[--sp]);
+                case OpCode.JUMP -> {
+                    int offset = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2 + offset;
+                }
+                case OpCode.JUMP_IF_FALSE -> {
+                    int offset = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2;
+                    if (!Values.isTruthy(stack[sp - 1])) {
+                        ip += offset;
+                    }
+                }
+                case OpCode.POP_JUMP_IF_FALSE -> {
+                    int offset = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2;
+                    if (!Values.isTruthy(stack[--sp])) {
+                        ip += offset;
+                    }
+                }
+                case OpCode.LOOP -> {
+                    int offset = ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+                    ip += 2 - offset;
+                }
+                case OpCode.RANGE_ENTER -> {
+                    int counter = base + (code[ip] & 0xff);
+                    boolean inclusive = code[ip + 1] != 0;
+                    int offset = ((code[ip + 2] & 0xff) << 8) | (code[ip + 3] & 0xff);
+                    ip += 4;
+                    Object step = stack[counter + 2];
+                    if (!Numbers.isNumber(stack[counter]) || !Numbers.isNumber(stack[counter + 1]) || !Numbers.isNumber(step)) {
+                        throw operandsError(frame, start);
+                    }
+                    if (Numbers.toDouble(step) == 0) {
+                        throw new RuntimeError(token(frame, start), "Range step can't be zero.");
+                    }
+                    if (!inRange(stack, counter, inclusive)) {
+                        ip += offset;
+                    }
+                }
+                case OpCode.RANGE_LOOP -> {
+                    int counter = base + (code[ip] & 0xff);
+                    boolean inclusive = code[ip + 1] != 0;
+                    int offset = ((code[ip + 2] & 0xff) << 8) | (code[ip + 3] & 0xff);
+                    ip += 4;
+                    if (!Numbers.isNumber(stack[counter + 1])) {
+                        throw operandsError(frame, start);
+                    }
+                    stack[counter] = Numbers.add(stack[counter], stack[counter + 2]);
+                    if (inRange(stack, counter, inclusive)) {
+                        ip -= offset;
+                    }
+                }
+                case OpCode.CALL, OpCode.CALL_METHOD, OpCode.TAIL_CALL, OpCode.TAIL_CALL_METHOD -> {
+                    int argCount = code[ip++] & 0xff;
+                    frame.ip = ip;
+                    stackTop = sp;
+                    Token paren = token(frame, start);
+                    if (instruction == OpCode.CALL_METHOD || instruction == OpCode.TAIL_CALL_METHOD) {
+                        callMethod(argCount, paren);
+                    } else {
+                        callValue(stack[sp - argCount - 1], argCount, sp - argCount - 1, paren);
+                    }
+                    if (instruction >= OpCode.TAIL_CALL && frames[frameCount - 1] != frame && frame.memo == null) {
+                        replaceFrame();
+                    }
+                    frame = frames[frameCount - 1];
+                    code = frame.closure.function.chunk.code;
+                    constants = frame.closure.function.chunk.constants;
+                    stack = this.stack;
+                    ip = frame.ip;
+                    base = frame.base;
+                    sp = stackTop;
+                }
+                case OpCode.CLOSURE -> {
+                    VmFunction function = (VmFunction) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmClosure closure = new VmClosure(function);
+                    for (int i = 0; i < closure.upvalues.length; i++) {
+                        boolean isLocal = code[ip++] == 1;
+                        int index = code[ip++] & 0xff;
+                        if (isLocal) {
+                            closure.upvalues[i] = captureUpvalue(base + index);
+                        } else {
+                            closure.upvalues[i] = frame.closure.upvalues[index];
+                        }
+                    }
+                    stack[sp++] = closure;
+                }
+                case OpCode.CLOSE_UPVALUE -> closeUpvalues(--sp);
+                case OpCode.RETURN -> {
+                    Object result = stack[--sp];
+                    if (frame.memo != null) {
+                        frame.memo.store(result);
+                    }
+                    if (openUpvalues != null) {
+                        closeUpvalues(base);
+                    }
+                    frameCount--;
+                    sp = frame.returnSlot;
+                    stack[sp++] = result;
+                    if (frameCount == 0) {
+                        stackTop = sp;
+                        return;
+                    }
+                    frame = frames[frameCount - 1];
+                    code = frame.closure.function.chunk.code;
+                    constants = frame.closure.function.chunk.constants;
+                    ip = frame.ip;
+                    base = frame.base;
+                }
+                case OpCode.CLASS -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    stack[sp++] = new VmClass(name);
+                }
+                case OpCode.INHERIT -> {
+                    if (!(stack[sp - 2] instanceof VmClass superClass)) {
+                        throw new RuntimeError(token(frame, start), "Superclass must be a class.");
+                    }
+                    VmClass subClass = (VmClass) stack[--sp];
+                    subClass.methods.putAll(superClass.methods);
+                    subClass.initializer = superClass.initializer;
+                }
+                case OpCode.METHOD -> {
+                    String name = (String) constants[((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff)];
+                    ip += 2;
+                    VmClosure method = (VmClosure) stack[--sp];
+                    VmClass klass = (VmClass) stack[sp - 1];
+                    klass.methods.put(name, method);
+                    if (name.equals("constructor")) {
+                        klass.initializer = method;
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + instruction);
+            }
+        }
+    }
+
+    private static boolean inRange(Object[] stack, int counter, boolean inclusive) {
+        return Numbers.inRange(Numbers.toDouble(stack[counter]), Numbers.toDouble(stack[counter + 1]),
+                Numbers.toDouble(stack[counter + 2]), inclusive);
+    }
+
+    private Token token(CallFrame frame, int offset) {
+        return frame.closure.function.chunk.tokens[offset];
+    }
+
+    private RuntimeError operandsError(CallFrame frame, int offset) {
+        return new RuntimeError(token(frame, offset), "Operands must be numbers");
+    }
+
+    private VmInstance instanceForProperty(Object object, CallFrame frame, int offset) {
+        if (object instanceof VmInstance instance) {
+            return instance;
+        }
+        throw new RuntimeError(token(frame, offset), "Only instances have properties.");
+    }
+
+    private VmClosure findMethod(VmClass klass, String name, CallFrame frame, int offset) {
+        VmClosure method = klass.methods.get(name);
+        if (method == null) {
+            throw new RuntimeError(token(frame, offset), "Undefined property '" + name + "'.");
+        }
+        return method;
+    }
+
+    private void callMethod(int argCount, Token paren) {
+        int receiverSlot = stackTop - argCount - 1;
+        Object receiver = stack[receiverSlot];
+        if (receiver == NO_RECEIVER) {
+            System.arraycopy(stack, receiverSlot + 1, stack, receiverSlot, argCount);
+            stackTop--;
+            callValue(stack[receiverSlot - 1], argCount, receiverSlot - 1, paren);
+        } else {
+            callClosure((VmClosure) stack[receiverSlot - 1], argCount, receiverSlot, paren);
+            frames[frameCount - 1].returnSlot = receiverSlot - 1;
+        }
+    }
+
+    private void callValue(Object callee, int argCount, int calleeSlot, Token paren) {
+        if (callee instanceof VmClosure closure) {
+            callClosure(closure, argCount, calleeSlot, paren);
+        } else if (callee instanceof VmBoundMethod bound) {
+            stack[calleeSlot] = bound.receiver;
+            callClosure(bound.method, argCount, calleeSlot, paren);
+        } else if (callee instanceof VmClass klass) {
+            stack[calleeSlot] = new VmInstance(klass);
+            if (klass.initializer != null) {
+                callClosure(klass.initializer, argCount, calleeSlot, paren);
+            } else if (argCount != 0) {
+                throw arityError(paren, 0, argCount);
+            }
+        } else if (callee instanceof MemoizedFunction memo) {
+            callMemoized(memo, argCount, calleeSlot, paren);
+        } else if (callee instanceof KatanaCallable callable) {
+            if (argCount != callable.arity()) {
+                throw arityError(paren, callable.arity(), argCount);
+            }
+            Object[] arguments = Arrays.copyOfRange(stack, calleeSlot + 1, stackTop);
+            try {
+                stack[calleeSlot] = callable.call(null, arguments);
+            } catch (RuntimeError error) {
+                if (error.token != null) {
+                    throw error;
+                }
+                throw new RuntimeError(paren, error.getMessage());
+            }
+            stackTop = calleeSlot + 1;
+        } else {
+            throw new RuntimeError(paren, "Can only call functions and classes.");
+        }
+    }
+
+    private void callMemoized(MemoizedFunction memo, int argCount, int calleeSlot, Token paren) {
+        Object key = MemoizedFunction.key(stack, calleeSlot + 1, argCount);
+        if (key != null) {
+            Object cached = memo.lookup(key);
+            if (cached != MemoizedFunction.MISSING) {
+                stack[calleeSlot] = cached;
+                stackTop = calleeSlot + 1;
+                return;
+            }
+        }
+
+        int depth = frameCount;
+        stack[calleeSlot] = memo.function;
+        callValue(memo.function, argCount, calleeSlot, paren);
+        if (key == null) {
+            return;
+        }
+        if (frameCount > depth) {
+            CallFrame frame = frames[frameCount - 1];
+            frame.memo = new MemoHook(memo, key, frame.memo);
+        } else {
+            memo.store(key, stack[calleeSlot]);
+        }
+    }
+
+    static boolean isCallable(Object value) {
+        return value instanceof VmClosure || value instanceof VmBoundMethod || value instanceof VmClass
+                || value instanceof KatanaCallable;
+    }
+
+    private void callClosure(VmClosure closure, int argCount, int base, Token paren) {
+        if (argCount != closure.function.arity) {
+            throw arityError(paren, closure.function.arity, argCount);
+        }
+        if (frameCount == FRAMES_MAX) {
+            throw new RuntimeError(paren, "Stack overflow.");
+        }
+        if (frameCount == frames.length) {
+            frames = Arrays.copyOf(frames, frameCount * 2);
+        }
+        ensureStack(base + closure.function.maxStack);
+        CallFrame frame = frames[frameCount];
+        if (frame == null) {
+            frame = new CallFrame();
+            frames[frameCount] = frame;
+        }
+        frameCount++;
+        frame.closure = closure;
+        frame.ip = 0;
+        frame.base = base;
+        frame.returnSlot = base;
+        frame.memo = null;
+    }
+
+    private void replaceFrame() {
+        CallFrame callee = frames[frameCount - 1];
+        CallFrame caller = frames[frameCount - 2];
+        if (openUpvalues != null) {
+            closeUpvalues(caller.base);
+        }
+        int shift = callee.returnSlot - caller.returnSlot;
+        System.arraycopy(stack, callee.returnSlot, stack, caller.returnSlot, stackTop - callee.returnSlot);
+        stackTop -= shift;
+        callee.base -= shift;
+        callee.returnSlot = caller.returnSlot;
+        frames[frameCount - 2] = callee;
+        frames[frameCount - 1] = caller;
+        frameCount--;
+    }
+
+    private RuntimeError arityError(Token paren, int arity, int argCount) {
+        return new RuntimeError(paren, "Expected " + arity + " arguments but got " + argCount + ".");
+    }
+
+    private VmUpvalue captureUpvalue(int slot) {
+        VmUpvalue previous = null;
+        VmUpvalue upvalue = openUpvalues;
+        while (upvalue != null && upvalue.slot > slot) {
+            previous = upvalue;
+            upvalue = upvalue.next;
+        }
+
+        if (upvalue != null && upvalue.slot == slot) {
+            return upvalue;
+        }
+
+        VmUpvalue created = new VmUpvalue(slot, upvalue);
+        if (previous == null) {
+            openUpvalues = created;
+        } else {
+            previous.next = created;
+        }
+        return created;
+    }
+
+    private void closeUpvalues(int last) {
+        while (openUpvalues != null && openUpvalues.slot >= last) {
+            VmUpvalue upvalue = openUpvalues;
+            upvalue.closed = stack[upvalue.slot];
+            upvalue.open = false;
+            openUpvalues = upvalue.next;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package katana.vm;
+
+import katana.interpreter.Shape;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class VmClass {
+    final String name;
+    final Map<String, VmClosure> methods = new HashMap<>();
+    VmClosure initializer;
+    final Shape shape = Shape.root();
+    int instanceSize;
+
+    VmClass(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,37 @@
+package katana.vm;
+
+import katana.interpreter.Shape;
+
+import java.util.Arrays;
+
+class VmInstance {
+    private static final Object[] NO_VALUES = new Object[0];
+
+    final VmClass klass;
+    Shape shape;
+    Object[] values;
+
+    VmInstance(VmClass klass) {
+        this.klass = klass;
+        this.shape = klass.shape;
+        this.values = klass.instanceSize == 0 ? NO_VALUES : new Object[klass.instanceSize];
+    }
+
+    void set(String name, Object value) {
+        int slot = shape.indexOf(name);
+        if (slot < 0) {
+            shape = shape.withField(name);
+            slot = shape.size() - 1;
+            klass.instanceSize = Math.max(klass.instanceSize, shape.size());
+            if (slot == values.length) {
+                values = Arrays.copyOf(values, klass.instanceSize);
+            }
+        }
+        values[slot] = value;
+    }
+
+    @Override
+    public String toString() {
+        return klass.name + " instance";
+    }
+}
@@ -0,0 +1,13 @@
+package katana.vm;
+
+class VmUpvalue {
+    int slot;
+    Object closed;
+    boolean open = true;
+    VmUpvalue next;
+
+    VmUpvalue(int slot, VmUpvalue next) {
+        this.slot = slot;
+        this.next = next;
+    }
+}
@@ -0,0 +1,66 @@
+package katana;
+
+import katana.interpreter.CapturedOutput;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConformanceTest {
+    private static final String[] ENGINES = {"tree", "node", "tiered", "vm"};
+    private static final int[] LEVELS = {0, 1, 2};
+
+    @TestFactory
+    List<DynamicTest> everyEngineAndLevelMatchesExpectedOutput() throws IOException, URISyntaxException {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Path script : scripts()) {
+            for (String engine : ENGINES) {
+                for (int level : LEVELS) {
+                    String name = script.getFileName() + " --engine=" + engine + " -O" + level;
+                    tests.add(DynamicTest.dynamicTest(name, () -> check(script, engine, level)));
+                }
+            }
+        }
+        return tests;
+    }
+
+    private static List<Path> scripts() throws IOException, URISyntaxException {
+        Path corpus = Paths.get(ConformanceTest.class.getResource("/conformance").toURI());
+        try (Stream<Path> files = Files.list(corpus)) {
+            return files.filter(file -> file.toString().endsWith(".k")).sorted().toList();
+        }
+    }
+
+    private static void check(Path script, String engine, int level) throws IOException {
+        CapturedOutput output = new CapturedOutput();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream stderr = System.err;
+        System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+        try {
+            Katana.reset(engine, level, output);
+            Katana.run(Files.readString(script));
+        } finally {
+            System.setErr(stderr);
+        }
+        assertEquals(expected(script, ".out"), output.text(), "stdout");
+        assertEquals(expected(script, ".err"), errors.toString(StandardCharsets.UTF_8), "stderr");
+    }
+
+    private static String expected(Path script, String extension) throws IOException {
+        String name = script.getFileName().toString();
+        Path file = script.resolveSibling(name.substring(0, name.length() - ".k".length()) + extension);
+        return Files.exists(file) ? Files.readString(file) : "";
+    }
+}